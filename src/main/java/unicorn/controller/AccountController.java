@@ -7,12 +7,20 @@ import unicorn.util.*;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.io.File;
+import java.io.UncheckedIOException;
 
 /**
  * Clase que actúa como controlador para la gestión de cuentas de usuario.
@@ -26,8 +34,10 @@ import java.io.File;
  *                  - Actualizar información de las cuentas (nombre, apellido, teléfono, correo electrónico, contraseña).
  *                  - Eliminar cuentas de usuario.
  *                  - Gestionar privilegios de administrador.
- *                  - Recuperar cuentas por nombre de usuario, correo electrónico o ID.
+ *                  - Recuperar cuentas por nombre de usuario, correo electrónico o ID en tiempo constante,
+ *                    mediante índices únicos (sin distinguir mayúsculas) que se mantienen en cada cambio.
  *                  - Listar todas las cuentas registradas.
+ *                  - Guardar solo los archivos de los tipos de cuenta que tienen cambios pendientes.
  *
  * @author KNOWLES
  * @version 1.1
@@ -41,15 +51,28 @@ import java.io.File;
 public class AccountController implements IAccount {
     
     private final IFile<Account> fileHandler;
-    private final IFile<Substitute> substituteFile;
+    private final SubstituteController substituteController;
     private final INews newsController;
     //private final IFile<FaQ> faqFile;
     private final Map<TipoCuenta, String> filePaths;
     private Map<String, Account> accounts;
+    // Tipos de cuenta con cambios en memoria que aún no se guardaron en su archivo
+    private final Set<TipoCuenta> dirtyTypes = EnumSet.noneOf(TipoCuenta.class);
+    private Set<TipoCuenta> lastSavedTypes = EnumSet.noneOf(TipoCuenta.class);
+    // Índices únicos por nombre de usuario y correo normalizados, y las claves con las que se indexó cada cuenta
+    private final Map<String, Account> byUsername = new HashMap<>();
+    private final Map<String, Account> byEmail = new HashMap<>();
+    private final Map<String, IndexKeys> indexedKeys = new HashMap<>();
 
-    public AccountController(IFile<Account> fileHandler, IFile<Substitute> substituteFile, INews newsController,  IFile<FaQ> faqFile) throws AccountException {
+    private record IndexKeys(String username, String email) {}
+
+    /**
+     * @param substituteController Controlador de sustituciones compartido (ver {@link RepositoryRegistry#substitutes()}),
+     *                             para no mantener una segunda copia del archivo de sustituciones.
+     */
+    public AccountController(IFile<Account> fileHandler, SubstituteController substituteController, INews newsController,  IFile<FaQ> faqFile) throws AccountException {
         this.fileHandler = fileHandler;
-        this.substituteFile = substituteFile;
+        this.substituteController = substituteController;
         this.filePaths = new HashMap<>();
         // Define los nombres de archivo para cada tipo de cuenta 
         this.filePaths.put(TipoCuenta.ADMIN,      "src/main/java/unicorn/dto/accounts_admin.txt");
@@ -62,53 +85,167 @@ public class AccountController implements IAccount {
         //this.faqFile = faqFile;
 
         try {
-            // Asegurarse de que todos los archivos existan y cargar datos de cada uno
-            for (Map.Entry<TipoCuenta, String> entry : filePaths.entrySet()) {
-                fileHandler.createFileIfNotExists(entry.getValue());
-                // Cargamos la lista y la convertimos a un mapa usando el ID como clave
-                List<Account> loadedAccounts = fileHandler.loadData(entry.getValue());
-                for (Account acc : loadedAccounts) {
-                    this.accounts.put(acc.getId(), acc);
-                }
-            }
+            loadAccounts();
             initializeDefaultAdmin();
             //initializeDefaultPrf();
             //createDefaultContactFAQ();
         } catch (FileException e) {
             this.accounts = new HashMap<>(); // En caso de error, inicializamos un mapa vacío
+            clearIndexes();
             System.err.println("Error al cargar cuentas, iniciando con lista vacía: " + e.getMessage());
         }
     }
 
-    public  void saveChanges() throws AccountException {
-        Map<TipoCuenta, List<Account>> accountsByType = accounts.values().stream() // Obtenemos la colección de cuentas
-                .collect(Collectors.groupingBy(Account::getTipoCuenta));
-
+    private void loadAccounts() throws FileException {
+        // Asegurarse de que todos los archivos existan y cargar datos de cada uno
         for (Map.Entry<TipoCuenta, String> entry : filePaths.entrySet()) {
+            fileHandler.createFileIfNotExists(entry.getValue());
+            // Recorremos el archivo y llenamos el mapa en una sola pasada usando el ID como clave
+            try (Stream<Account> loadedAccounts = fileHandler.streamData(entry.getValue())) {
+                loadedAccounts.forEach(acc -> {
+                    this.accounts.put(acc.getId(), acc);
+                    index(acc);
+                });
+            } catch (UncheckedIOException e) {
+                throw FileException.readError();
+            }
+        }
+    }
+
+    // Descarta los cambios en memoria cuando se revierte una unidad de trabajo
+    private void reloadAccounts() {
+        accounts.clear();
+        clearIndexes();
+        dirtyTypes.clear();
+        try {
+            loadAccounts();
+        } catch (FileException e) {
+            System.err.println("Error al recargar cuentas: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Guarda todos los archivos de cuentas.
+     * Se usa cuando una cuenta fue modificada fuera del controlador y no se sabe a qué tipo pertenecía;
+     * si se conoce la cuenta, {@link #saveChanges(Account)} evita reescribir los demás archivos.
+     */
+    public void saveChanges() throws AccountException {
+        rebuildIndexes();
+        dirtyTypes.addAll(filePaths.keySet());
+        persistDirty();
+    }
+
+    /**
+     * Guarda solo el archivo correspondiente al tipo de la cuenta modificada.
+     *
+     * @param account Cuenta modificada fuera del controlador.
+     */
+    public void saveChanges(Account account) throws AccountException {
+        reindex(account);
+        markDirty(account);
+        persistDirty();
+    }
+
+    /**
+     * @return Los tipos de cuenta cuyos archivos se escribieron en el último guardado.
+     */
+    public Set<TipoCuenta> getLastSavedTypes() {
+        return Collections.unmodifiableSet(lastSavedTypes);
+    }
+
+    /**
+     * @return Total de bytes escritos en disco por el manejador de archivos de cuentas.
+     */
+    public long getBytesWritten() {
+        return fileHandler.getBytesWritten();
+    }
+
+    private void markDirty(Account account) {
+        dirtyTypes.add(account.getTipoCuenta());
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void index(Account account) {
+        IndexKeys keys = new IndexKeys(normalize(account.getUser()), normalize(account.getEmail()));
+        if (keys.username() != null) byUsername.put(keys.username(), account);
+        if (keys.email() != null) byEmail.put(keys.email(), account);
+        indexedKeys.put(account.getId(), keys);
+    }
+
+    private void unindex(Account account) {
+        IndexKeys keys = indexedKeys.remove(account.getId());
+        if (keys == null) return;
+        // Solo se elimina la entrada si sigue apuntando a esta cuenta
+        if (keys.username() != null) byUsername.remove(keys.username(), account);
+        if (keys.email() != null) byEmail.remove(keys.email(), account);
+    }
+
+    /**
+     * Actualiza los índices de una cuenta cuyo usuario o correo pudo haber cambiado.
+     */
+    private void reindex(Account account) {
+        if (!accounts.containsKey(account.getId())) return;
+        unindex(account);
+        index(account);
+    }
+
+    private void rebuildIndexes() {
+        clearIndexes();
+        accounts.values().forEach(this::index);
+    }
+
+    private void clearIndexes() {
+        byUsername.clear();
+        byEmail.clear();
+        indexedKeys.clear();
+    }
+
+    /**
+     * Reescribe únicamente los archivos de los tipos de cuenta marcados como modificados.
+     * Si un guardado falla, ese tipo y los siguientes siguen marcados para el próximo intento.
+     */
+    private void persistDirty() throws AccountException {
+        if (dirtyTypes.isEmpty()) return;
+        UnitOfWork.join(this, this::reloadAccounts);
+
+        Map<TipoCuenta, List<Account>> accountsByType = new HashMap<>();
+        for (TipoCuenta type : dirtyTypes) accountsByType.put(type, new ArrayList<>());
+        for (Account account : accounts.values()) {
+            List<Account> partition = accountsByType.get(account.getTipoCuenta());
+            if (partition != null) partition.add(account);
+        }
+
+        Set<TipoCuenta> saved = EnumSet.noneOf(TipoCuenta.class);
+        for (Map.Entry<TipoCuenta, List<Account>> entry : accountsByType.entrySet()) {
             TipoCuenta type = entry.getKey();
-            String path = entry.getValue();
-            List<Account> accountsToSave = accountsByType.getOrDefault(type, new ArrayList<>());
             try {
-                fileHandler.saveData(accountsToSave, path);
+                fileHandler.saveData(entry.getValue(), filePaths.get(type));
             } catch (FileException e) {
                 throw new AccountException("Error al guardar los cambios para el tipo de cuenta " + type + ": " + e.getMessage());
             }
+            dirtyTypes.remove(type);
+            saved.add(type);
         }
+        lastSavedTypes = saved;
     }
 
     @Override
     public void registerAccount(Account account) throws AccountException {
         // Verificamos si el nombre de usuario o el email ya existen
-        if (accounts.values().stream().anyMatch(a -> a.getUser().equals(account.getUser()))) { //
-            throw AccountException.duplicateUser(); //
+        if (byUsername.containsKey(normalize(account.getUser()))) {
+            throw AccountException.duplicateUser();
         }
 
-        if (accounts.values().stream().anyMatch(a -> a.getEmail().equals(account.getEmail()))) { //
-            throw new AccountException("El correo electrónico ya está registrado"); //
+        if (byEmail.containsKey(normalize(account.getEmail()))) {
+            throw new AccountException("El correo electrónico ya está registrado");
         }
 
         accounts.put(account.getId(), account); // Agregamos la cuenta al HashMap usando su ID
-        saveChanges(); //
+        index(account);
+        saveChanges(account);
 
         // Crear archivo de horarios para el usuario
         createUserScheduleFile(account); //
@@ -125,6 +262,63 @@ public class AccountController implements IAccount {
         }
     }
 
+    /**
+     * Registra varias cuentas con un solo guardado por tipo de cuenta.
+     * Los candidatos se deduplican por nombre de usuario (sin distinguir mayúsculas): los que ya
+     * existen se omiten y, entre repetidos del lote, se conserva el primero. Todos los candidatos se
+     * validan antes de modificar nada, de modo que el lote se registra completo o no se registra.
+     *
+     * @param candidates Cuentas a registrar.
+     * @return Las cuentas nuevas efectivamente registradas, en el orden recibido.
+     * @throws AccountException Si algún candidato no tiene usuario o correo, o su correo ya está
+     *                          registrado; el mensaje enumera todos los candidatos rechazados.
+     */
+    @Override
+    public List<Account> registerAccounts(Collection<Account> candidates) throws AccountException {
+        Map<String, Account> created = new LinkedHashMap<>();
+        Set<String> emails = new HashSet<>();
+        List<String> rejected = new ArrayList<>();
+        for (Account account : candidates) {
+            String username = normalize(account.getUser());
+            String email = normalize(account.getEmail());
+            if (username == null || username.isEmpty() || email == null || email.isEmpty()) {
+                rejected.add(account.getUser() + ": usuario y correo son obligatorios");
+            } else if (!byUsername.containsKey(username) && !created.containsKey(username)) {
+                if (byEmail.containsKey(email) || !emails.add(email)) {
+                    rejected.add(account.getUser() + ": el correo electrónico ya está registrado");
+                } else {
+                    created.put(username, account);
+                }
+            }
+        }
+        if (!rejected.isEmpty()) {
+            throw new AccountException("No se registró ninguna cuenta del lote. Rechazadas: " + String.join("; ", rejected));
+        }
+        if (created.isEmpty()) return new ArrayList<>();
+
+        for (Account account : created.values()) {
+            accounts.put(account.getId(), account);
+            index(account);
+            markDirty(account);
+        }
+        persistDirty();
+        createUserScheduleFilesOnCommit(created.values());
+
+        for (Account account : created.values()) {
+            if (!account.isEstudiante()) continue;
+            try {
+                newsController.sendUserNews(
+                        "Tu cuenta está en revisión. Contacta a un administrador si no se activa en 24h.",
+                        TipoNews.SISTEMA,
+                        account.getId()
+                );
+            } catch (NewsException e) {
+                System.err.println("Error al enviar notificación: " + e.getMessage());
+            }
+        }
+        return new ArrayList<>(created.values());
+    }
+
     public void approveStudentAccount(String adminUsername, String studentId) throws AccountException {
         Account admin = getByUsername(adminUsername);
         Account student = getById(studentId);
@@ -140,7 +334,7 @@ public class AccountController implements IAccount {
         }
 
         student.aprobarCuenta();
-        saveChanges();
+        saveChanges(student);
 
         try {
             newsController.sendUserNews(
@@ -154,37 +348,68 @@ public class AccountController implements IAccount {
     }
 
     private void createUserScheduleFile(Account account) throws AccountException {
-        String baseDir = "src/main/java/unicorn/dto/schedules/";
-        String subDir;
+        createUserScheduleFiles(List.of(account));
+    }
 
-        // Determinar la subcarpeta según el tipo de cuenta
-        switch (account.getTipoCuenta()) {
-            case PROFESOR:
-                subDir = "profesor/";
-                break;
-            case ESTUDIANTE:
-                subDir = "estudiante/";
-                break;
-            case ADMIN:
-                // Los administradores no necesitan archivo de horario
-                return;
-            default:
-                throw new AccountException("Tipo de cuenta no válido para crear horario");
+    // Dentro de una unidad de trabajo los archivos se crean recién al confirmarla, para que una carga
+    // revertida no deje archivos de cuentas que no existen
+    private void createUserScheduleFilesOnCommit(Collection<Account> newAccounts) throws AccountException {
+        UnitOfWork uow = UnitOfWork.current();
+        if (uow == null) {
+            createUserScheduleFiles(newAccounts);
+            return;
         }
+        List<Account> pending = new ArrayList<>(newAccounts);
+        uow.afterCommit(() -> {
+            try {
+                createUserScheduleFiles(pending);
+            } catch (AccountException e) {
+                System.err.println("Error al crear archivos de horario: " + e.getMessage());
+            }
+        });
+    }
 
-        String filePath = baseDir + subDir + account.getUser() + "_schedule.txt";
-
-        try {
-            // Crear el directorio si no existe (incluyendo subdirectorios)
-            File directory = new File(baseDir + subDir);
-            if (!directory.exists()) {
-                directory.mkdirs();
+    /**
+     * Crea los archivos de horario de varias cuentas; cada carpeta se crea una sola vez.
+     */
+    private void createUserScheduleFiles(Collection<Account> newAccounts) throws AccountException {
+        String baseDir = "src/main/java/unicorn/dto/schedules/";
+        Set<String> createdDirs = new HashSet<>();
+
+        for (Account account : newAccounts) {
+            String subDir;
+
+            // Determinar la subcarpeta según el tipo de cuenta
+            switch (account.getTipoCuenta()) {
+                case PROFESOR:
+                    subDir = "profesor/";
+                    break;
+                case ESTUDIANTE:
+                    subDir = "estudiante/";
+                    break;
+                case ADMIN:
+                    // Los administradores no necesitan archivo de horario
+                    continue;
+                default:
+                    throw new AccountException("Tipo de cuenta no válido para crear horario");
             }
 
-            // Crear el archivo de horario
-            fileHandler.createFileIfNotExists(filePath);
-        } catch (Exception e) {
-            throw new AccountException("Error al crear archivo de horarios para el usuario: " + e.getMessage());
+            String filePath = baseDir + subDir + account.getUser() + "_schedule.txt";
+
+            try {
+                // Crear el directorio si no existe (incluyendo subdirectorios)
+                if (createdDirs.add(subDir)) {
+                    File directory = new File(baseDir + subDir);
+                    if (!directory.exists()) {
+                        directory.mkdirs();
+                    }
+                }
+
+                // Crear el archivo de horario
+                fileHandler.createFileIfNotExists(filePath);
+            } catch (Exception e) {
+                throw new AccountException("Error al crear archivo de horarios para el usuario: " + e.getMessage());
+            }
         }
     }
 
@@ -206,7 +431,7 @@ public class AccountController implements IAccount {
         if (account == null) throw AccountException.userNotFound();
         
         account.setNombre(newName);
-        saveChanges();
+        saveChanges(account);
     }
 
     @Override
@@ -223,7 +448,7 @@ public class AccountController implements IAccount {
         if (account == null) throw AccountException.userNotFound();
         
         account.setApellido(newLast.trim());
-        saveChanges();
+        saveChanges(account);
     }
 
     @Override
@@ -233,7 +458,7 @@ public class AccountController implements IAccount {
         if (account == null) throw AccountException.userNotFound();
         
         account.setPhone(newPhone);
-        saveChanges();
+        saveChanges(account);
     }
 
     @Override
@@ -242,14 +467,14 @@ public class AccountController implements IAccount {
         
         if (account == null) throw AccountException.userNotFound();
         
-        if (accounts.values().stream() //
-                .filter(a -> !a.getUser().equals(username)) //
-                .anyMatch(a -> a.getEmail().equals(newEmail))) { //
-            throw new AccountException("El correo electrónico ya está registrado"); //
+        Account owner = byEmail.get(normalize(newEmail));
+        if (owner != null && owner != account) {
+            throw new AccountException("El correo electrónico ya está registrado");
         }
         
         account.setEmail(newEmail);
-        saveChanges();
+        reindex(account);
+        saveChanges(account);
     }
 
     @Override
@@ -263,7 +488,7 @@ public class AccountController implements IAccount {
         }
         
         account.setPassword(newPassword);
-        saveChanges();
+        saveChanges(account);
     }
 
     public void resetUserPassword(String username, String newPassword) throws AccountException {
@@ -272,7 +497,7 @@ public class AccountController implements IAccount {
         if (account == null) throw AccountException.userNotFound();
 
         account.setPassword(newPassword);
-        saveChanges();
+        saveChanges(account);
     }
 
     public void promoteToAccount(String username, String substituteId, LocalDate startDate, LocalDate endDate) throws AccountException, SubstituteException {
@@ -283,15 +508,16 @@ public class AccountController implements IAccount {
             throw new AccountException("Solo los profesores pueden ser promovidos a administrador");
         }
 
-        // Crear la sustitución
+        // Crear la sustitución; la cuenta pasa del archivo de profesores al de administradores
+        markDirty(account);
         Substitute substitution = account.promoteToAdmin(substituteId, startDate, endDate);
+        reindex(account); // El correo cambia al dominio de administradores
 
         // Guardar cambios en la cuenta
-        saveChanges();
+        saveChanges(account);
 
         // Guardar la sustitución
-        SubstituteController subController = new SubstituteController(substituteFile);
-        subController.createSubstitute(substitution);
+        substituteController.createSubstitute(substitution);
 
         // Eliminar archivo de horario si existe
         deleteUserScheduleFile(account);
@@ -306,26 +532,23 @@ public class AccountController implements IAccount {
             throw new AccountException("Solo administradores que fueron profesores pueden ser revertidos");
         }
 
-        // Revertir a profesor
+        // Revertir a profesor; la cuenta pasa del archivo de administradores al de profesores
+        markDirty(account);
         boolean reverted = account.revertToProfessor();
         if (!reverted) {
             throw new AccountException("No se pudo revertir la cuenta a profesor");
         }
+        reindex(account); // Se recupera el correo original de profesor
 
         // Finalizar la sustitución
-        SubstituteController subController = new SubstituteController(substituteFile);
-        List<Substitute> activeSubstitutes = subController.getActiveSubstitutes();
-
-        for (Substitute s : activeSubstitutes) {
-            if (s.getOriginalTeacherId().equals(account.getId())) {
-                subController.endSubstitution(s.getId());
-                break;
-            }
+        Substitute active = substituteController.getActiveSubstituteForTeacher(account.getId());
+        if (active != null) {
+            substituteController.endSubstitution(active.getId());
         }
 
         // Crear archivo de horario nuevamente
         createUserScheduleFile(account);
-        saveChanges();
+        saveChanges(account);
     }
 
     private void deleteUserScheduleFile(Account account) {
@@ -342,26 +565,17 @@ public class AccountController implements IAccount {
 
     @Override
     public Account getByUsername(String username) throws AccountException {
-        return accounts.values().stream()
-                .filter(a -> a.getUser().equals(username))
-                .findFirst()
-                .orElse(null);
+        return byUsername.get(normalize(username));
     }
 
     @Override
     public Account getByEmail(String email) throws AccountException {
-        return accounts.values().stream()
-                .filter(a -> a.getEmail().equals(email))
-                .findFirst()
-                .orElse(null);
+        return byEmail.get(normalize(email));
     }
 
     @Override
     public Account getById(String id) throws AccountException {
-        return accounts.values().stream()
-                .filter(a -> a.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        return id == null ? null : accounts.get(id);
     }
     
     @Override
@@ -376,18 +590,21 @@ public class AccountController implements IAccount {
         }
         
         accounts.remove(account.getId());
-        saveChanges();
+        unindex(account);
+        saveChanges(account);
     }
 
     private void initializeDefaultAdmin() throws AccountException {
         // Verificar si ya existe un administrador por defecto en la lista total de cuentas
-        boolean adminExists = accounts.values().stream().anyMatch(a -> a.getUser().equals("admin") && a.getTipoCuenta() == TipoCuenta.ADMIN); //
+        Account existing = byUsername.get("admin");
+        boolean adminExists = existing != null && existing.getTipoCuenta() == TipoCuenta.ADMIN;
 
         if (!adminExists) { //
             try {
                 Account defaultAdmin = new Account("admin", "admin", "00000000", "admin@adm.umss.edu", "admin", "Hola1234", TipoCuenta.ADMIN);
                 this.accounts.put(defaultAdmin.getId(), defaultAdmin); // Agregamos al HashMap
-                saveChanges(); // Guardar el nuevo admin en su archivo correspondiente
+                index(defaultAdmin);
+                saveChanges(defaultAdmin); // Guardar el nuevo admin en su archivo correspondiente
             } catch (IllegalArgumentException e) {
                 throw new AccountException("Error creando cuenta admin por defecto: " + e.getMessage()); //
             }
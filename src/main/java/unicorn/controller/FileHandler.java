@@ -3,60 +3,312 @@ package unicorn.controller;
 import unicorn.model.Base;
 import unicorn.exceptions.FileException;
 import unicorn.interfaces.IFile;
+import unicorn.util.CountingOutputStream;
+import unicorn.util.MappedRecordReader;
+import unicorn.util.ParallelLineParser;
+import unicorn.util.RecordInput;
+import unicorn.util.RecordOutput;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 /**
  * Clase genérica para manejar operaciones de lectura y escritura de archivos.
  * Permite guardar, cargar, agregar datos y verificar la existencia de archivos.
- * 
+ *
  * @param <T> Tipo genérico que extiende de la clase Base, utilizado para definir el formato de los datos.
- * 
+ *
  * @description Funcionalidades principales:
  *                  - Guardar una lista de datos en un archivo.
  *                  - Cargar datos desde un archivo.
+ *                  - Recorrer los datos de un archivo de forma perezosa (streamData).
  *                  - Agregar un dato al final de un archivo existente.
  *                  - Verificar si un archivo existe.
  *                  - Crear un archivo si no existe.
- * 
+ *                  - Guardado durable: escribe en un archivo temporal, lo sincroniza con el disco
+ *                    y lo renombra de forma atómica sobre el original.
+ *                  - Group commit: agrupa los guardados que llegan dentro de una ventana de tiempo
+ *                    en una sola escritura física en segundo plano; {@link #flush()} espera a que termine.
+ *                  - Carga paralela: divide el archivo en bloques alineados a saltos de línea y los
+ *                    deserializa en un {@link ForkJoinPool}, conservando el orden del archivo.
+ *                  - Lectura por bytes: copia el archivo a un búfer con FileChannel.read y entrega
+ *                    cada registro al modelo sin decodificar (ver {@link Base#fromFields}).
+ *                  - Formato binario compacto (ver {@link Base#writeRecord}): el formato de cada archivo se
+ *                    detecta por su cabecera al leer, y {@link #convert} lo reescribe en el otro formato.
+ *                  - Participar en una {@link UnitOfWork}: mientras haya una activa, los guardados se
+ *                    retienen en memoria y se escriben una sola vez al confirmarla.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ *     IFile<Account> accounts = new FileHandler.Builder<>(new Account())
+ *             .durable()
+ *             .groupCommit(100)
+ *             .build();
+ * </pre>
+ *
  * @author KNOWLES
- * @version 1.0
+ * @version 1.1
  * @since 2025-04-29
  * @see Base
  * @see IFile
  * @see FileException
+ * @see UnitOfWork
  */
 public class FileHandler<T extends Base<T>> implements IFile<T> {
-    
+
+    /**
+     * Formatos de archivo soportados.
+     */
+    public enum Format {
+        /** Una línea por registro, generada con {@link Base#toFile()}. */
+        TEXT,
+        /** Cabecera + registros binarios precedidos por su longitud, generados con {@link Base#writeRecord}. */
+        BINARY
+    }
+
+    /**
+     * Cabecera de los archivos binarios. El primer byte (0xB1) nunca puede iniciar un texto
+     * UTF-8 válido, así que no se confunde con un archivo de texto. Le sigue la versión del
+     * esquema del modelo como varint.
+     */
+    private static final byte[] BINARY_MAGIC = {(byte) 0xB1, 'U', 'N', 'I'};
+
+    private static final ScheduledExecutorService COMMITTER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "file-group-commit");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Pools de carga paralela por cantidad de hilos, compartidos por todos los manejadores
+    private static final Map<Integer, ForkJoinPool> PARSE_POOLS = new ConcurrentHashMap<>();
+
+    private static final Set<FileHandler<?>> GROUP_COMMIT_HANDLERS = Collections.newSetFromMap(new WeakHashMap<>());
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            List<FileHandler<?>> handlers;
+            synchronized (GROUP_COMMIT_HANDLERS) {
+                handlers = new ArrayList<>(GROUP_COMMIT_HANDLERS);
+            }
+            for (FileHandler<?> handler : handlers) {
+                try {
+                    handler.flush();
+                } catch (FileException e) {
+                    System.err.println("Error al vaciar escrituras pendientes: " + e.getMessage());
+                }
+            }
+        }, "file-group-commit-shutdown"));
+    }
+
     private final T prototype;
-    
+    private final boolean durable;
+    private final long groupCommitMillis;
+    private final ForkJoinPool parsePool;
+    private final boolean memoryMapped;
+    private final Format format;
+    private final Map<String, List<T>> pending = new LinkedHashMap<>();
+    private final Map<String, FileException> failures = new HashMap<>();
+    private final Object writeLock = new Object();
+    private final AtomicLong bytesWritten = new AtomicLong();
+
     public FileHandler(T prototype) {
+        this(prototype, false, 0, null, false, Format.TEXT);
+    }
+
+    private FileHandler(T prototype, boolean durable, long groupCommitMillis, ForkJoinPool parsePool,
+                        boolean memoryMapped, Format format) {
         this.prototype = prototype;
+        this.durable = durable;
+        this.groupCommitMillis = groupCommitMillis;
+        this.parsePool = parsePool;
+        this.memoryMapped = memoryMapped;
+        this.format = format;
+        UnitOfWork.recover();
+        if (groupCommitMillis > 0) {
+            synchronized (GROUP_COMMIT_HANDLERS) {
+                GROUP_COMMIT_HANDLERS.add(this);
+            }
+        }
+    }
+
+    private static ForkJoinPool newParsePool(int threads) {
+        return new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("file-parse-" + threads + "-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    // Pattern Builder
+    public static class Builder<T extends Base<T>> {
+        private final T prototype;
+        private boolean durable;
+        private long groupCommitMillis;
+        private ForkJoinPool parsePool;
+        private boolean memoryMapped;
+        private Format format = Format.TEXT;
+
+        public Builder(T prototype) {
+            this.prototype = prototype;
+        }
+
+        /**
+         * Activa el guardado durable (archivo temporal + fsync + renombrado atómico).
+         */
+        public Builder<T> durable() {
+            this.durable = true;
+            return this;
+        }
+
+        /**
+         * Agrupa los guardados de un mismo archivo que lleguen dentro de la ventana indicada.
+         * Solo se escribe la última versión recibida, en segundo plano: saveData retorna sin esperar
+         * la escritura, de modo que un mismo hilo puede guardar varias veces seguidas con una sola
+         * escritura física. Los datos están escritos (y, con durable, sincronizados con el disco)
+         * recién cuando {@link FileHandler#flush()} retorna. Una escritura fallida se informa en el
+         * siguiente guardado o en flush.
+         *
+         * @param windowMillis Duración de la ventana en milisegundos (0 desactiva el agrupamiento).
+         */
+        public Builder<T> groupCommit(long windowMillis) {
+            if (windowMillis < 0) {
+                throw new IllegalArgumentException("La ventana de group commit no puede ser negativa");
+            }
+            this.groupCommitMillis = windowMillis;
+            return this;
+        }
+
+        /**
+         * Deserializa el archivo en paralelo usando el pool común de fork/join.
+         */
+        public Builder<T> parallelLoad() {
+            this.parsePool = ForkJoinPool.commonPool();
+            return this;
+        }
+
+        /**
+         * Deserializa el archivo en paralelo usando un pool con la cantidad de hilos indicada.
+         * El pool se comparte con los demás manejadores que pidan la misma cantidad y sus hilos
+         * son daemon, por lo que no necesita cerrarse.
+         *
+         * @param threads Cantidad de hilos del pool (mayor a 0).
+         */
+        public Builder<T> parallelLoad(int threads) {
+            if (threads <= 0) {
+                throw new IllegalArgumentException("La cantidad de hilos debe ser mayor a 0");
+            }
+            this.parsePool = PARSE_POOLS.computeIfAbsent(threads, FileHandler::newParsePool);
+            return this;
+        }
+
+        /**
+         * Lee el archivo completo a un búfer de bytes y deserializa cada registro desde sus bytes
+         * con {@link Base#fromFields}. Combinado con parallelLoad, cada bloque se procesa de la misma forma.
+         * Los archivos de más de 2 GB se leen con el camino secuencial. El archivo no se mapea con
+         * FileChannel.map, para que los guardados durables puedan reemplazarlo también en Windows.
+         */
+        public Builder<T> memoryMapped() {
+            this.memoryMapped = true;
+            return this;
+        }
+
+        /**
+         * Guarda los archivos en formato binario. La lectura detecta el formato por la cabecera,
+         * por lo que un archivo de texto existente se migra en el siguiente guardado.
+         */
+        public Builder<T> binary() {
+            this.format = Format.BINARY;
+            return this;
+        }
+
+        public FileHandler<T> build() {
+            return new FileHandler<>(prototype, durable, groupCommitMillis, parsePool, memoryMapped, format);
+        }
     }
 
     @Override
     public void saveData(List<T> data, String filePath) throws FileException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
-            for (T item : data) {
-                writer.write(item.toFile());
-                writer.newLine();
+        UnitOfWork uow = UnitOfWork.current();
+        if (uow != null) {
+            // Una escritura agrupada anterior no debe pisar lo que confirme la unidad de trabajo
+            commit(normalize(filePath));
+            List<T> snapshot = new ArrayList<>(data);
+            uow.stage(filePath, () -> toLines(snapshot), out -> encode(snapshot, out, format));
+            return;
+        }
+
+        if (groupCommitMillis <= 0) {
+            synchronized (writeLock) {
+                write(data, filePath);
+            }
+            return;
+        }
+
+        String key = normalize(filePath);
+        synchronized (pending) {
+            FileException failure = failures.remove(key);
+            if (failure != null) throw failure;
+
+            boolean scheduled = pending.containsKey(key);
+            pending.put(key, new ArrayList<>(data));
+            if (!scheduled) {
+                COMMITTER.schedule(() -> commitQuietly(key), groupCommitMillis, TimeUnit.MILLISECONDS);
             }
-        } catch (IOException e) {
-            throw FileException.writeError();
         }
     }
 
     @Override
     public List<T> loadData(String filePath) throws FileException {
+        commit(normalize(filePath));
+
         List<T> data = new ArrayList<>();
-        
+
+        UnitOfWork uow = UnitOfWork.current();
+        List<String> staged = uow != null ? uow.stagedContent(filePath) : null;
+        if (staged != null) {
+            for (String line : staged) data.add(prototype.fromFile(line));
+            return data;
+        }
+
         if (!fileExists(filePath)) return data;
-        
+
+        if (isBinary(filePath)) return readBinary(filePath);
+
+        if (parsePool != null || memoryMapped) {
+            try {
+                Path path = Paths.get(filePath);
+                if (MappedRecordReader.canMap(Files.size(path))) return loadMapped(path);
+            } catch (IOException e) {
+                throw FileException.readError();
+            }
+        }
+
         try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
             String line;
             while ((line = reader.readLine()) != null) {
@@ -65,17 +317,86 @@ public class FileHandler<T extends Base<T>> implements IFile<T> {
         } catch (IOException e) {
             throw FileException.readError();
         }
-        
+
         return data;
     }
 
+    private List<T> loadMapped(Path path) throws IOException {
+        Charset charset = Charset.defaultCharset();
+        if (parsePool == null) {
+            ByteBuffer content = MappedRecordReader.load(path);
+            return MappedRecordReader.read(content, 0, content.limit(), charset, prototype.fieldSeparator(), prototype::fromFields);
+        }
+        if (memoryMapped) {
+            return ParallelLineParser.parseFields(path, charset, prototype.fieldSeparator(), prototype::fromFields, parsePool);
+        }
+        return ParallelLineParser.parse(path, charset, prototype::fromFile, parsePool);
+    }
+
     @Override
-    public void appendData(T data, String filePath) throws FileException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath, true))) {
-            writer.write(data.toFile());
-            writer.newLine();
+    public Stream<T> streamData(String filePath) throws FileException {
+        commit(normalize(filePath));
+
+        UnitOfWork uow = UnitOfWork.current();
+        List<String> staged = uow != null ? uow.stagedContent(filePath) : null;
+        if (staged != null) return staged.stream().map(prototype::fromFile);
+
+        if (!fileExists(filePath)) return Stream.empty();
+        if (isBinary(filePath)) return readBinary(filePath).stream();
+
+        try {
+            BufferedReader reader = new BufferedReader(new FileReader(filePath));
+            return reader.lines()
+                    .onClose(() -> closeQuietly(reader))
+                    .filter(line -> !line.trim().isEmpty())
+                    .map(prototype::fromFile);
         } catch (IOException e) {
-            throw FileException.writeError();
+            throw FileException.readError();
+        }
+    }
+
+    @Override
+    public void appendData(T data, String filePath) throws FileException {
+        if (UnitOfWork.current() != null) {
+            List<T> current = loadData(filePath);
+            current.add(data);
+            saveData(current, filePath);
+            return;
+        }
+
+        commit(normalize(filePath));
+        boolean empty = !fileExists(filePath) || new File(filePath).length() == 0;
+        int schemaVersion = empty ? -1 : binarySchemaVersion(filePath);
+        if (schemaVersion >= 0 && schemaVersion != prototype.schemaVersion()) {
+            // Un archivo con un esquema anterior se reescribe completo en lugar de mezclar versiones
+            List<T> current = loadData(filePath);
+            current.add(data);
+            synchronized (writeLock) {
+                write(current, filePath);
+            }
+            return;
+        }
+
+        synchronized (writeLock) {
+            // Se agrega en el formato que ya tiene el archivo; uno vacío toma el formato del manejador
+            try {
+                if (empty ? format == Format.BINARY : schemaVersion >= 0) {
+                    try (OutputStream out = new BufferedOutputStream(counting(new FileOutputStream(filePath, true)))) {
+                        if (empty) writeBinaryHeader(out);
+                        RecordOutput record = new RecordOutput();
+                        data.writeRecord(record);
+                        record.writeFramedTo(out);
+                    }
+                } else {
+                    try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                            counting(new FileOutputStream(filePath, true)), Charset.defaultCharset()))) {
+                        writer.write(data.toFile());
+                        writer.newLine();
+                    }
+                }
+            } catch (IOException e) {
+                throw FileException.writeError();
+            }
         }
     }
 
@@ -96,4 +417,195 @@ public class FileHandler<T extends Base<T>> implements IFile<T> {
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Escribe inmediatamente todos los guardados pendientes del group commit. Al retornar, todos los
+     * guardados anteriores están escritos (y, con durable, sincronizados con el disco).
+     *
+     * @throws FileException Si alguna de las escrituras pendientes falla.
+     */
+    public void flush() throws FileException {
+        List<String> keys;
+        synchronized (pending) {
+            keys = new ArrayList<>(pending.keySet());
+        }
+        for (String key : keys) {
+            commit(key);
+        }
+        synchronized (pending) {
+            if (!failures.isEmpty()) {
+                FileException failure = failures.values().iterator().next();
+                failures.clear();
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Reescribe un archivo en el formato indicado, sin importar el formato configurado en el manejador.
+     * La escritura es atómica: ante una falla el archivo conserva su formato original.
+     *
+     * @param filePath Ruta del archivo a convertir.
+     * @param target Formato de destino.
+     * @throws FileException Si ocurre un error al leer o escribir el archivo.
+     */
+    public void convert(String filePath, Format target) throws FileException {
+        List<T> data = loadData(filePath);
+        synchronized (writeLock) {
+            try {
+                writeAtomically(data, Paths.get(filePath), target);
+            } catch (IOException e) {
+                throw FileException.writeError();
+            }
+        }
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    private OutputStream counting(OutputStream out) {
+        return new CountingOutputStream(out, bytesWritten);
+    }
+
+    private void commitQuietly(String key) {
+        try {
+            commit(key);
+        } catch (FileException e) {
+            synchronized (pending) {
+                failures.put(key, e);
+            }
+        }
+    }
+
+    /**
+     * Escribe la última versión pendiente del archivo, si existe.
+     * El bloqueo de escritura garantiza que las escrituras de un mismo manejador no se intercalen.
+     */
+    private void commit(String key) throws FileException {
+        synchronized (writeLock) {
+            List<T> data;
+            synchronized (pending) {
+                data = pending.remove(key);
+            }
+            if (data != null) write(data, key);
+        }
+    }
+
+    private void write(List<T> data, String filePath) throws FileException {
+        try {
+            if (durable) {
+                writeAtomically(data, Paths.get(filePath), format);
+            } else {
+                try (OutputStream out = new BufferedOutputStream(counting(new FileOutputStream(filePath)))) {
+                    encode(data, out, format);
+                }
+            }
+        } catch (IOException e) {
+            throw FileException.writeError();
+        }
+    }
+
+    /**
+     * Escribe los datos en un archivo temporal hermano, fuerza su contenido al disco y lo
+     * renombra sobre el original. Ante una caída, el archivo queda con la versión anterior
+     * o con la nueva, nunca truncado.
+     */
+    private void writeAtomically(List<T> data, Path target, Format targetFormat) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream out = new BufferedOutputStream(counting(Channels.newOutputStream(channel)));
+            encode(data, out, targetFormat);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void encode(List<T> data, OutputStream out, Format targetFormat) throws IOException {
+        if (targetFormat == Format.BINARY) {
+            writeBinaryHeader(out);
+            RecordOutput record = new RecordOutput();
+            for (T item : data) {
+                record.reset();
+                item.writeRecord(record);
+                record.writeFramedTo(out);
+            }
+        } else {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, Charset.defaultCharset()));
+            writeLines(data, writer);
+            writer.flush();
+        }
+    }
+
+    private void writeBinaryHeader(OutputStream out) throws IOException {
+        RecordOutput header = new RecordOutput();
+        header.writeVarLong(prototype.schemaVersion());
+        out.write(BINARY_MAGIC);
+        header.writeTo(out);
+    }
+
+    private boolean isBinary(String filePath) throws FileException {
+        return binarySchemaVersion(filePath) >= 0;
+    }
+
+    /**
+     * @return La versión de esquema de la cabecera binaria, o -1 si el archivo es de texto.
+     */
+    private int binarySchemaVersion(String filePath) throws FileException {
+        byte[] head = new byte[BINARY_MAGIC.length + 10];
+        try (InputStream in = new FileInputStream(filePath)) {
+            int read = in.readNBytes(head, 0, head.length);
+            if (read <= BINARY_MAGIC.length
+                    || !Arrays.equals(head, 0, BINARY_MAGIC.length, BINARY_MAGIC, 0, BINARY_MAGIC.length)) {
+                return -1;
+            }
+            return (int) new RecordInput(head, BINARY_MAGIC.length, read - BINARY_MAGIC.length).readVarLong();
+        } catch (IOException e) {
+            throw FileException.readError();
+        }
+    }
+
+    private List<T> readBinary(String filePath) throws FileException {
+        byte[] content;
+        try {
+            content = Files.readAllBytes(Paths.get(filePath));
+        } catch (IOException e) {
+            throw FileException.readError();
+        }
+        RecordInput in = new RecordInput(content, BINARY_MAGIC.length, content.length - BINARY_MAGIC.length);
+        int schemaVersion = (int) in.readVarLong();
+        List<T> data = new ArrayList<>();
+        while (in.hasRemaining()) {
+            data.add(prototype.readRecord(in.readFramed(), schemaVersion));
+        }
+        return data;
+    }
+
+    private List<String> toLines(List<T> data) {
+        List<String> lines = new ArrayList<>(data.size());
+        for (T item : data) lines.add(item.toFile());
+        return lines;
+    }
+
+    private void writeLines(List<T> data, BufferedWriter writer) throws IOException {
+        for (T item : data) {
+            writer.write(item.toFile());
+            writer.newLine();
+        }
+    }
+
+    private void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            System.err.println("Error al cerrar el archivo: " + e.getMessage());
+        }
+    }
+
+    private String normalize(String filePath) {
+        return Paths.get(filePath).toAbsolutePath().normalize().toString();
+    }
+}
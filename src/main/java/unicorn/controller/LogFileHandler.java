@@ -0,0 +1,372 @@
+package unicorn.controller;
+
+import unicorn.model.Base;
+import unicorn.exceptions.FileException;
+import unicorn.interfaces.IFile;
+import unicorn.util.CountingOutputStream;
+import unicorn.util.MappedRecordReader;
+import unicorn.util.ParallelLineParser;
+import unicorn.util.RecordFields;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementación de {@link IFile} basada en un registro de solo escritura al final (write-ahead log).
+ * En lugar de reescribir el archivo completo en cada cambio, registra únicamente las altas,
+ * modificaciones y bajas como registros añadidos al final del archivo, indexados por {@link Base#getId()}.
+ *
+ * @description Funcionalidades principales:
+ *                  - Registrar altas/modificaciones como "+<linea>" y bajas como "-<id>".
+ *                  - Reproducir el registro al cargar para reconstruir el estado vigente. En archivos grandes
+ *                    las líneas se deserializan en paralelo y solo la reproducción es secuencial.
+ *                  - Leer el archivo como bytes, deserializando cada registro con {@link Base#fromFields}.
+ *                  - Calcular en saveData solo la diferencia respecto al último estado conocido,
+ *                    de modo que el costo de escritura por cambio sea proporcional al tamaño del registro.
+ *                  - Compactar el archivo en segundo plano cuando la proporción de registros obsoletos
+ *                    supera el umbral configurado.
+ *                  - Participar en una {@link UnitOfWork}, confirmando el archivo ya compactado.
+ *
+ * @note Las líneas sin prefijo se interpretan como altas, por lo que los archivos existentes
+ *       escritos por {@link FileHandler} se pueden leer sin migración previa. Un archivo compactado
+ *       vuelve a tener una línea por registro vigente.
+ *       Todos los controladores que compartan un archivo deben usar el mismo tipo de manejador; el estado
+ *       de cada archivo se comparte entre todas las instancias, identificado por su ruta normalizada.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ *     IFile<News> newsFile = new LogFileHandler<>(new News());
+ *     NewsController controller = new NewsController(newsFile, userId);
+ * </pre>
+ *
+ * @param <T> Tipo genérico que extiende de la clase Base, utilizado para definir el formato de los datos.
+ *
+ * @author KNOWLES
+ * @version 1.0
+ * @since 2026-10-18
+ * @see FileHandler
+ * @see IFile
+ */
+public class LogFileHandler<T extends Base<T>> implements IFile<T> {
+
+    private static final char UPSERT = '+';
+    private static final char DELETE = '-';
+    private static final double DEFAULT_GARBAGE_RATIO = 0.5;
+    private static final int MIN_RECORDS_TO_COMPACT = 64;
+    private static final long PARALLEL_LOAD_BYTES = 1024 * 1024;
+
+    private static final ExecutorService COMPACTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "log-file-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final T prototype;
+    private final double garbageRatio;
+    // Compartido por todas las instancias, para que dos manejadores del mismo archivo no calculen
+    // diferencias ni compacten a partir de estados distintos
+    private static final Map<String, LogState> STATES = new ConcurrentHashMap<>();
+    private final AtomicLong bytesWritten = new AtomicLong();
+
+    public LogFileHandler(T prototype) {
+        this(prototype, DEFAULT_GARBAGE_RATIO);
+    }
+
+    /**
+     * @param prototype Instancia usada para deserializar los registros.
+     * @param garbageRatio Proporción (0-1) de registros obsoletos a partir de la cual se compacta el archivo.
+     */
+    public LogFileHandler(T prototype, double garbageRatio) {
+        if (garbageRatio <= 0 || garbageRatio >= 1) {
+            throw new IllegalArgumentException("El umbral de compactación debe estar entre 0 y 1");
+        }
+        this.prototype = prototype;
+        this.garbageRatio = garbageRatio;
+        UnitOfWork.recover();
+    }
+
+    /**
+     * Estado vigente de un archivo de registro: la última línea serializada por ID
+     * y la cantidad de registros físicos que contiene el archivo.
+     */
+    private static final class LogState {
+        private Map<String, String> live = new LinkedHashMap<>();
+        private long records;
+        private boolean loaded;
+        private boolean compactionScheduled;
+    }
+
+    /**
+     * Registro del archivo ya deserializado. Una baja no tiene línea ni objeto asociado.
+     */
+    private static final class LogEntry<T> {
+        private final String id;
+        private final String record;
+        private final T item;
+
+        private LogEntry(String id, String record, T item) {
+            this.id = id;
+            this.record = record;
+            this.item = item;
+        }
+    }
+
+    @Override
+    public void saveData(List<T> data, String filePath) throws FileException {
+        LogState state = stateFor(filePath);
+        UnitOfWork uow = UnitOfWork.current();
+        if (uow != null) {
+            stage(uow, state, data, filePath);
+            return;
+        }
+        synchronized (state) {
+            Map<String, String> current = new LinkedHashMap<>();
+            List<String> entries = new ArrayList<>();
+
+            for (T item : data) {
+                String line = item.toFile();
+                current.put(item.getId(), line);
+                if (!line.equals(state.live.get(item.getId()))) entries.add(UPSERT + line);
+            }
+            for (String id : state.live.keySet()) {
+                if (!current.containsKey(id)) entries.add(DELETE + id);
+            }
+
+            append(entries, filePath);
+            state.live = current;
+            state.records += entries.size();
+            scheduleCompactionIfNeeded(state, filePath);
+        }
+    }
+
+    @Override
+    public List<T> loadData(String filePath) throws FileException {
+        UnitOfWork uow = UnitOfWork.current();
+        List<String> staged = uow != null ? uow.stagedContent(filePath) : null;
+        if (staged != null) {
+            List<T> data = new ArrayList<>();
+            for (String line : staged) data.add(prototype.fromFile(line));
+            return data;
+        }
+
+        LogState state = stateOf(filePath);
+        synchronized (state) {
+            return replay(state, filePath);
+        }
+    }
+
+    // Reproduce el registro y deja su resultado como estado vigente del archivo
+    private List<T> replay(LogState state, String filePath) throws FileException {
+        Map<String, String> lines = new LinkedHashMap<>();
+        Map<String, T> items = new LinkedHashMap<>();
+        List<LogEntry<T>> entries = fileExists(filePath) ? readEntries(filePath) : List.of();
+
+        // La reproducción debe respetar el orden del archivo: una baja anula las altas anteriores
+        for (LogEntry<T> entry : entries) {
+            if (entry.item == null) {
+                lines.remove(entry.id);
+                items.remove(entry.id);
+            } else {
+                lines.put(entry.id, entry.record);
+                items.put(entry.id, entry.item);
+            }
+        }
+
+        state.live = lines;
+        state.records = entries.size();
+        state.loaded = true;
+        scheduleCompactionIfNeeded(state, filePath);
+        return new ArrayList<>(items.values());
+    }
+
+    @Override
+    public void appendData(T data, String filePath) throws FileException {
+        if (UnitOfWork.current() != null) {
+            List<T> current = loadData(filePath);
+            current.add(data);
+            saveData(current, filePath);
+            return;
+        }
+        LogState state = stateFor(filePath);
+        synchronized (state) {
+            String line = data.toFile();
+            append(List.of(UPSERT + line), filePath);
+            state.live.put(data.getId(), line);
+            state.records++;
+            scheduleCompactionIfNeeded(state, filePath);
+        }
+    }
+
+    @Override
+    public boolean fileExists(String filePath) {
+        return Files.exists(Paths.get(filePath));
+    }
+
+    @Override
+    public void createFileIfNotExists(String filePath) throws FileException {
+        if (!fileExists(filePath)) {
+            try {
+                Path path = Paths.get(filePath);
+                Files.createDirectories(path.getParent());
+                Files.createFile(path);
+            } catch (IOException e) {
+                throw new FileException("No se pudo crear el archivo: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Lee y deserializa los registros del archivo desde un búfer de bytes (sin mapearlo, ya que la
+     * compactación lo reemplaza con un renombrado atómico),
+     * en paralelo si supera {@link #PARALLEL_LOAD_BYTES}.
+     */
+    private List<LogEntry<T>> readEntries(String filePath) throws FileException {
+        try {
+            Path path = Paths.get(filePath);
+            long size = Files.size(path);
+            Charset charset = Charset.defaultCharset();
+            if (size >= PARALLEL_LOAD_BYTES && MappedRecordReader.canMap(size)) {
+                return ParallelLineParser.parseFields(path, charset, prototype.fieldSeparator(), this::parseEntry, ForkJoinPool.commonPool());
+            }
+            if (MappedRecordReader.canMap(size)) {
+                ByteBuffer content = MappedRecordReader.load(path);
+                return MappedRecordReader.read(content, 0, content.limit(), charset, prototype.fieldSeparator(), this::parseEntry);
+            }
+
+            List<LogEntry<T>> entries = new ArrayList<>();
+            try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.trim().isEmpty()) entries.add(parseEntry(line));
+                }
+            }
+            return entries;
+        } catch (IOException e) {
+            throw FileException.readError();
+        }
+    }
+
+    private LogEntry<T> parseEntry(String line) {
+        if (line.charAt(0) == DELETE) return new LogEntry<>(line.substring(1), null, null);
+        String record = line.charAt(0) == UPSERT ? line.substring(1) : line;
+        T item = prototype.fromFile(record);
+        return new LogEntry<>(item.getId(), record, item);
+    }
+
+    private LogEntry<T> parseEntry(RecordFields fields) {
+        char prefix = fields.leading();
+        if (prefix == DELETE) return new LogEntry<>(fields.skipLeading().line(), null, null);
+        if (prefix == UPSERT) fields.skipLeading();
+        String record = fields.line();
+        T item = prototype.fromFields(fields);
+        return new LogEntry<>(item.getId(), record, item);
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    /**
+     * Obtiene el estado del archivo, reproduciendo el registro la primera vez que se usa
+     * para que saveData pueda calcular la diferencia aunque no se haya llamado a loadData.
+     */
+    private LogState stateFor(String filePath) throws FileException {
+        LogState state = stateOf(filePath);
+        // Siempre bajo el bloqueo: otro hilo puede haber publicado el estado sin terminar de cargarlo
+        synchronized (state) {
+            if (!state.loaded) replay(state, filePath);
+        }
+        return state;
+    }
+
+    private static LogState stateOf(String filePath) {
+        return STATES.computeIfAbsent(Paths.get(filePath).toAbsolutePath().normalize().toString(), key -> new LogState());
+    }
+
+    /**
+     * Dentro de una unidad de trabajo el archivo se confirma compactado (una línea por registro
+     * vigente), así que al confirmar basta con actualizar el estado conocido.
+     */
+    private void stage(UnitOfWork uow, LogState state, List<T> data, String filePath) {
+        Map<String, String> current = new LinkedHashMap<>();
+        for (T item : data) current.put(item.getId(), item.toFile());
+        uow.stage(filePath, () -> new ArrayList<>(current.values()));
+        uow.afterCommit(() -> {
+            synchronized (state) {
+                state.live = current;
+                state.records = current.size();
+            }
+        });
+    }
+
+    private void append(List<String> entries, String filePath) throws FileException {
+        if (entries.isEmpty()) return;
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                new CountingOutputStream(new FileOutputStream(filePath, true), bytesWritten), Charset.defaultCharset()))) {
+            for (String entry : entries) {
+                writer.write(entry);
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw FileException.writeError();
+        }
+    }
+
+    private void scheduleCompactionIfNeeded(LogState state, String filePath) {
+        long garbage = state.records - state.live.size();
+        if (state.compactionScheduled || state.records < MIN_RECORDS_TO_COMPACT
+                || (double) garbage / state.records < garbageRatio) {
+            return;
+        }
+        state.compactionScheduled = true;
+        COMPACTOR.execute(() -> compact(state, filePath));
+    }
+
+    /**
+     * Reescribe el archivo con un único registro por ID vigente.
+     * Se escribe primero en un archivo temporal, se fuerza su contenido al disco y luego se
+     * reemplaza el original de forma atómica, por lo que una interrupción no deja el registro truncado.
+     */
+    private void compact(LogState state, String filePath) {
+        synchronized (state) {
+            state.compactionScheduled = false;
+            Path target = Paths.get(filePath);
+            Path temp = target.resolveSibling(target.getFileName() + ".compact");
+            try {
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                            new CountingOutputStream(Channels.newOutputStream(channel), bytesWritten), Charset.defaultCharset()));
+                    for (String line : state.live.values()) {
+                        writer.write(line);
+                        writer.newLine();
+                    }
+                    writer.flush();
+                    channel.force(true);
+                }
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                state.records = state.live.size();
+            } catch (IOException e) {
+                System.err.println("Error al compactar " + filePath + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -4,37 +4,161 @@ import unicorn.model.News;
 import unicorn.exceptions.NewsException;
 import unicorn.interfaces.IFile;
 import unicorn.interfaces.INews;
+import unicorn.util.NewsCounters;
+import unicorn.util.NewsFeedIndex;
 import unicorn.util.TipoNews;
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class NewsController implements INews {
+    // Hasta esta cantidad de destinatarios, una notificación de materia se entrega a cada bandeja al
+    // enviarla; con más, se publica una sola vez y cada usuario la ve al leer por sus materias
+    private static final int FANOUT_ON_WRITE_MAX = 500;
+    private static final int DELIVERY_BATCH = 256;
+
+    /**
+     * Fuente de los destinatarios de las notificaciones de materia.
+     */
+    public interface MateriaRecipients {
+        /** Sin destinatarios: las notificaciones de materia solo quedan en la bandeja de la materia. */
+        MateriaRecipients NONE = new MateriaRecipients() {
+            @Override
+            public Set<String> recipients(String materiaId) {
+                return Set.of();
+            }
+
+            @Override
+            public Set<String> materias(String userId) {
+                return Set.of();
+            }
+        };
+
+        /** @return IDs de los usuarios que deben recibir las notificaciones de la materia. */
+        Set<String> recipients(String materiaId);
+
+        /** @return IDs de las materias cuyas notificaciones recibe el usuario. */
+        Set<String> materias(String userId);
+    }
+
+    /**
+     * Resultado de la entrega de una notificación de materia.
+     *
+     * @param onWrite true si se entregó a cada bandeja; false si se publicó para entregarse al leer.
+     * @param recipients Cantidad de destinatarios al momento del envío.
+     * @param nanos Tiempo total del envío, en nanosegundos.
+     */
+    public record Delivery(boolean onWrite, int recipients, long nanos) {
+        public double perSecond() {
+            return nanos == 0 ? 0 : recipients * 1e9 / nanos;
+        }
+    }
+
     private final IFile<News> fileHandler;
     private final String filePath = "src/main/java/unicorn/dto/news.txt";
-    private Map<String, News> newsMap;
+    private final Map<String, News> newsMap;
+    // Bandejas por destinatario y canal global, ordenados de la más reciente a la más antigua
+    private final NewsFeedIndex feeds;
+    // Lecturas por usuario, en su propio archivo de solo agregado
+    private final NewsReadLog reads;
+    // No leídas por usuario y totales por tipo, actualizados con cada cambio
+    private final NewsCounters counters;
+    // Entregas de las notificaciones de materia, en su propio archivo de solo agregado
+    private final NewsDeliveryLog deliveries;
+    private final MateriaRecipients materias;
     private String currentUserId;
 
     public NewsController(IFile<News> fileHandler, String currentUserId) throws NewsException {
+        this(fileHandler, currentUserId, MateriaRecipients.NONE);
+    }
+
+    /**
+     * @param materias Destinatarios de las notificaciones de materia.
+     */
+    public NewsController(IFile<News> fileHandler, String currentUserId, MateriaRecipients materias) throws NewsException {
         this.fileHandler = fileHandler;
         this.currentUserId = currentUserId;
         this.newsMap = new HashMap<>();
+        this.feeds = new NewsFeedIndex();
+        this.reads = new NewsReadLog("src/main/java/unicorn/dto/news_reads.txt");
+        this.counters = new NewsCounters();
+        this.deliveries = new NewsDeliveryLog("src/main/java/unicorn/dto/news_deliveries.txt");
+        this.materias = materias;
         loadData();
+        loadLogs();
+    }
+
+    /**
+     * Crea una vista para otro usuario sobre las notificaciones ya cargadas por {@code shared}.
+     * Ambas instancias comparten el mapa en memoria, sus índices y el archivo, por lo que no se vuelve a leer.
+     *
+     * @param shared Controlador cuyos datos se comparten.
+     * @param currentUserId ID del usuario que envía las notificaciones desde esta vista.
+     */
+    public NewsController(NewsController shared, String currentUserId) {
+        this.fileHandler = shared.fileHandler;
+        this.currentUserId = currentUserId;
+        this.newsMap = shared.newsMap;
+        this.feeds = shared.feeds;
+        this.reads = shared.reads;
+        this.counters = shared.counters;
+        this.deliveries = shared.deliveries;
+        this.materias = shared.materias;
     }
 
     private void loadData() throws NewsException {
         try {
             fileHandler.createFileIfNotExists(filePath);
-            List<News> loadedNews = fileHandler.loadData(filePath);
-            if (loadedNews != null) {
-                loadedNews.forEach(n -> newsMap.put(n.getId(), n));
+            try (Stream<News> loadedNews = fileHandler.streamData(filePath)) {
+                loadedNews.forEach(this::put);
             }
         } catch (Exception e) {
             throw new NewsException("Error al cargar notificaciones: " + e.getMessage());
         }
     }
 
+    // Carga lecturas y entregas, y reconstruye a partir de ellas los canales y contadores
+    private void loadLogs() throws NewsException {
+        try {
+            reads.load(newsMap::containsKey);
+            deliveries.load(newsMap::containsKey);
+        } catch (IOException e) {
+            throw new NewsException("Error al cargar lecturas de notificaciones: " + e.getMessage());
+        }
+        counters.clear();
+        for (News news : newsMap.values()) {
+            boolean shared = deliveries.isOnRead(news.getId());
+            List<String> delivered = deliveries.recipients(news.getId());
+            if (shared) feeds.share(news);
+            if (!delivered.isEmpty()) feeds.deliver(news, delivered);
+
+            counters.added(news, shared);
+            counters.delivered(news, delivered);
+            Set<String> inbox = new HashSet<>(delivered);
+            for (String reader : reads.readers(news.getId())) {
+                if (shared || news.getDestinatarioId() == null || reader.equals(news.getDestinatarioId()) || inbox.contains(reader)) {
+                    counters.read(news, reader, shared);
+                }
+            }
+        }
+    }
+
+    private void add(News news) throws NewsException {
+        put(news);
+        counters.added(news, false);
+        saveData();
+    }
+
+    private void put(News news) {
+        News previous = newsMap.put(news.getId(), news);
+        if (previous != null) feeds.remove(previous);
+        feeds.add(news);
+    }
+
     private void saveData() throws NewsException {
+        UnitOfWork.join(this, this::reload);
         try {
             fileHandler.saveData(new ArrayList<>(newsMap.values()), filePath);
         } catch (Exception e) {
@@ -42,20 +166,79 @@ public class NewsController implements INews {
         }
     }
 
+    // Descarta los cambios en memoria cuando se revierte una unidad de trabajo
+    private void reload() {
+        newsMap.clear();
+        feeds.clear();
+        try {
+            loadData();
+            loadLogs();
+        } catch (NewsException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
     //@Override
     public void sendGlobalNews(String message, TipoNews tipo) throws NewsException {
         validateMessage(message);
         News news = new News(message, tipo, null, currentUserId); // Agregamos senderId
-        newsMap.put(news.getId(), news);
-        saveData();
+        add(news);
     }
 
     //@Override
     public void sendNewsForMateria(String message, String materiaId) throws NewsException {
+        deliverToMateria(message, materiaId);
+    }
+
+    /**
+     * Envía una notificación a una materia y la entrega a sus destinatarios.
+     * La notificación se guarda una vez en la bandeja de la materia. Si la materia tiene hasta
+     * {@value #FANOUT_ON_WRITE_MAX} destinatarios, se entrega a la bandeja de cada uno, en lotes de
+     * {@value #DELIVERY_BATCH}; si tiene más, se publica en el canal de la materia y cada usuario la
+     * ve al leer sus notificaciones.
+     *
+     * @return Modo de entrega, cantidad de destinatarios y tiempo empleado.
+     */
+    public Delivery deliverToMateria(String message, String materiaId) throws NewsException {
         validateMessage(message);
+        if (materiaId == null || materiaId.trim().isEmpty()) {
+            throw new NewsException("ID de materia inválido");
+        }
+        long start = System.nanoTime();
+        Set<String> recipients = new LinkedHashSet<>(materias.recipients(materiaId));
+        recipients.remove(currentUserId);
+        boolean onWrite = recipients.size() <= FANOUT_ON_WRITE_MAX;
+
         News news = new News(message, TipoNews.MATERIA, materiaId, currentUserId);
-        newsMap.put(news.getId(), news);
+        put(news);
+        counters.added(news, !onWrite);
         saveData();
+        try {
+            if (onWrite) {
+                List<String> batch = new ArrayList<>(Math.min(recipients.size(), DELIVERY_BATCH));
+                for (String recipient : recipients) {
+                    batch.add(recipient);
+                    if (batch.size() == DELIVERY_BATCH) {
+                        deliver(news, batch);
+                        batch = new ArrayList<>(DELIVERY_BATCH);
+                    }
+                }
+                if (!batch.isEmpty()) deliver(news, batch);
+            } else {
+                deliveries.deliverOnRead(news.getId());
+                feeds.share(news);
+            }
+        } catch (IOException e) {
+            throw new NewsException("Error al entregar notificación de materia: " + e.getMessage());
+        }
+        return new Delivery(onWrite, recipients.size(), System.nanoTime() - start);
+    }
+
+    // Registra primero la entrega del lote y luego la refleja en las bandejas y contadores
+    private void deliver(News news, List<String> batch) throws IOException {
+        deliveries.deliver(news.getId(), batch);
+        feeds.deliver(news, batch);
+        counters.delivered(news, batch);
     }
 
     @Override
@@ -64,8 +247,7 @@ public class NewsController implements INews {
         validateRecipient(recipientId);
 
         News news = new News(message, tipo, recipientId, currentUserId);
-        newsMap.put(news.getId(), news);
-        saveData();
+        add(news);
     }
 
     private void validateRecipient(String recipientId) throws NewsException {
@@ -92,35 +274,28 @@ public class NewsController implements INews {
 
     @Override
     public List<News> getUnreadNewsByUser(String userId) {
-        return newsMap.values().stream()
-                .filter(n -> !n.isLeida())
-                .filter(n -> isForUser(n, userId))
-                .sorted(Comparator.comparing(News::getFecha).reversed())
-                .collect(Collectors.toList());
+        return feeds.newest(userId, materias.materias(userId), n -> !isRead(n, userId), -1);
     }
 
     @Override
     public List<News> getAllNewsByUser(String userId) {
-        return newsMap.values().stream()
-                .filter(n -> isForUser(n, userId))
-                .sorted(Comparator.comparing(News::getFecha).reversed())
-                .collect(Collectors.toList());
+        return feeds.newest(userId, materias.materias(userId), null, -1);
+    }
+
+    @Override
+    public List<News> getLatestNewsByUser(String userId, int limit) {
+        return feeds.newest(userId, materias.materias(userId), null, limit);
     }
 
     @Override
     public List<News> getGlobalNews() {
-        return newsMap.values().stream()
-                .filter(n -> n.getDestinatarioId() == null)
-                .sorted(Comparator.comparing(News::getFecha).reversed())
-                .collect(Collectors.toList());
+        return feeds.global();
     }
 
     public List<News> getNewsByMateria(String materiaId) {
-        return newsMap.values().stream()
-                .filter(n -> n.getTipoNotificacion() == TipoNews.MATERIA
-                        && materiaId.equals(n.getDestinatarioId()))
-                .sorted(Comparator.comparing(News::getFecha).reversed())
-                .collect(Collectors.toList());
+        List<News> result = feeds.inbox(materiaId);
+        result.removeIf(n -> n.getTipoNotificacion() != TipoNews.MATERIA);
+        return result;
     }
 
     @Override
@@ -133,10 +308,7 @@ public class NewsController implements INews {
 
     @Override
     public List<News> getNewsByDateRange(LocalDateTime start, LocalDateTime end) {
-        return newsMap.values().stream()
-                .filter(n -> !n.getFecha().isBefore(start) && !n.getFecha().isAfter(end))
-                .sorted(Comparator.comparing(News::getFecha).reversed())
-                .collect(Collectors.toList());
+        return feeds.between(start, end);
     }
 
     public List<News> getNewsBySender(String senderId) {
@@ -148,43 +320,91 @@ public class NewsController implements INews {
 
     @Override
     public void markAsRead(String newsId) throws NewsException {
+        markAsRead(newsId, currentUserId);
+    }
+
+    /**
+     * Marca la notificación como leída solo para el usuario indicado.
+     * La lectura se agrega al registro de lecturas; el archivo de notificaciones no se reescribe.
+     */
+    @Override
+    public void markAsRead(String newsId, String userId) throws NewsException {
         News news = getNewsById(newsId);
-        news.setLeida(true);
-        saveData();
+        if (isRead(news, userId)) return;
+        try {
+            if (reads.markRead(newsId, userId)) countRead(news, userId);
+        } catch (IOException e) {
+            throw new NewsException("Error al guardar lectura: " + e.getMessage());
+        }
+    }
+
+    private void countRead(News news, String userId) {
+        boolean shared = deliveries.isOnRead(news.getId());
+        if (shared || news.getDestinatarioId() == null || userId.equals(news.getDestinatarioId())
+                || deliveries.isDeliveredTo(news.getId(), userId)) {
+            counters.read(news, userId, shared);
+        }
+    }
+
+    /**
+     * Indica si el usuario ya leyó la notificación. Las marcadas como leídas en el archivo
+     * (formato anterior al registro de lecturas) cuentan como leídas para todos.
+     */
+    @Override
+    public boolean isRead(News news, String userId) {
+        return news.isLeida() || reads.isRead(news.getId(), userId);
+    }
+
+    /**
+     * @return true si el usuario actual ya leyó la notificación.
+     */
+    public boolean isRead(News news) {
+        return isRead(news, currentUserId);
     }
 
     @Override
     public void deleteNews(String newsId) throws NewsException {
-        if (!newsMap.containsKey(newsId)) {
+        News removed = newsMap.get(newsId);
+        if (removed == null) {
             throw NewsException.notFound();
         }
-        newsMap.remove(newsId);
+        discard(removed);
+        saveData();
+    }
+
+    /**
+     * Elimina todas las notificaciones anteriores a la fecha de corte, guardando una sola vez.
+     *
+     * @param cutoff Fecha de corte; las notificaciones de esa fecha o posteriores se conservan.
+     * @return Notificaciones eliminadas, de la más antigua a la más reciente, para archivarlas.
+     */
+    public List<News> removeNewsBefore(LocalDateTime cutoff) throws NewsException {
+        List<News> removed = feeds.olderThan(cutoff);
+        if (removed.isEmpty()) return removed;
+        for (News news : removed) discard(news);
         saveData();
+        return removed;
     }
 
-    private boolean isForUser(News news, String userId) {
-        return news.getDestinatarioId() == null ||
-                news.getDestinatarioId().equals(userId);
+    // Quita la notificación de la memoria, los índices, los contadores y los registros de lecturas y entregas
+    private void discard(News news) {
+        newsMap.remove(news.getId());
+        feeds.remove(news);
+        boolean shared = deliveries.isOnRead(news.getId());
+        counters.removed(news, shared, reads.forget(news.getId()), deliveries.forget(news.getId()));
     }
 
     /**
      * Obtiene estadísticas de notificaciones por tipo
      */
     public Map<TipoNews, Long> getNewsStatistics() {
-        return newsMap.values().stream()
-                .collect(Collectors.groupingBy(
-                        News::getTipoNotificacion,
-                        Collectors.counting()
-                ));
+        return counters.byType();
     }
 
     /**
      * Obtiene el conteo de notificaciones no leídas para un usuario
      */
     public long getUnreadCount(String userId) {
-        return newsMap.values().stream()
-                .filter(n -> !n.isLeida())
-                .filter(n -> isForUser(n, userId))
-                .count();
+        return counters.unread(userId, materias.materias(userId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+package unicorn.controller;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Registro de entregas de notificaciones de materia.
+ * Una notificación entregada al escribir tiene una línea por destinatario; una entregada al leer
+ * tiene una sola línea con {@value #ON_READ} y cada usuario la ve a través de sus materias.
+ *
+ * @description Funcionalidades principales:
+ *                  - Agregar al final del archivo las entregas de un lote de destinatarios con una sola escritura.
+ *                  - Marcar una notificación como entregada al leer.
+ *                  - Consultar a quiénes se entregó una notificación.
+ *                  - Olvidar las entregas de notificaciones eliminadas y compactar el archivo al cargar.
+ *
+ * @note Igual que {@link NewsReadLog}, no participa de la {@link UnitOfWork}.
+ *
+ * Formato de cada línea del archivo:
+ * <pre>
+ *     idNotificacion|idUsuario
+ *     idNotificacion|*
+ * </pre>
+ *
+ * @author KNOWLES
+ * @version 1.0
+ * @since 2026-10-18
+ * @see NewsController
+ */
+public final class NewsDeliveryLog {
+    private static final String ON_READ = "*";
+
+    private final NewsLineLog log;
+    private final Map<String, List<String>> deliveries = new HashMap<>();
+    private final Set<String> onRead = new HashSet<>();
+
+    public NewsDeliveryLog(String filePath) {
+        this.log = new NewsLineLog(filePath);
+    }
+
+    /**
+     * Carga las entregas del archivo, descartando las de notificaciones que ya no existen.
+     *
+     * @param knownNews Indica si una notificación existe.
+     */
+    public synchronized void load(Predicate<String> knownNews) throws IOException {
+        deliveries.clear();
+        onRead.clear();
+        log.load((newsId, userId) -> {
+            if (!knownNews.test(newsId)) return false;
+            record(newsId, userId);
+            return true;
+        }, this::currentLines);
+    }
+
+    /**
+     * Registra la entrega de una notificación a un lote de usuarios.
+     */
+    public synchronized void deliver(String newsId, Collection<String> userIds) throws IOException {
+        List<String> batch = new ArrayList<>(userIds.size());
+        for (String userId : userIds) batch.add(NewsLineLog.line(newsId, userId));
+        log.append(batch);
+        for (String userId : userIds) record(newsId, userId);
+    }
+
+    /**
+     * Registra que la notificación se entrega al leer, a quienes cursen su materia.
+     */
+    public synchronized void deliverOnRead(String newsId) throws IOException {
+        log.append(List.of(NewsLineLog.line(newsId, ON_READ)));
+        record(newsId, ON_READ);
+    }
+
+    public synchronized boolean isOnRead(String newsId) {
+        return onRead.contains(newsId);
+    }
+
+    public synchronized boolean isDeliveredTo(String newsId, String userId) {
+        List<String> users = deliveries.get(newsId);
+        return users != null && users.contains(userId);
+    }
+
+    /**
+     * @return Usuarios a los que se entregó la notificación al escribir.
+     */
+    public synchronized List<String> recipients(String newsId) {
+        List<String> users = deliveries.get(newsId);
+        return users == null ? List.of() : new ArrayList<>(users);
+    }
+
+    /**
+     * Olvida las entregas de una notificación eliminada; sus líneas se descartan al compactar.
+     *
+     * @return Usuarios a los que se había entregado al escribir.
+     */
+    public synchronized List<String> forget(String newsId) {
+        if (onRead.remove(newsId)) log.obsolete(1);
+        List<String> users = deliveries.remove(newsId);
+        if (users == null) return List.of();
+        log.obsolete(users.size());
+        return users;
+    }
+
+    private void record(String newsId, String userId) {
+        if (ON_READ.equals(userId)) {
+            onRead.add(newsId);
+        } else {
+            deliveries.computeIfAbsent(newsId, n -> new ArrayList<>()).add(userId);
+        }
+    }
+
+    // Una línea por entrega vigente
+    private List<String> currentLines() {
+        List<String> current = new ArrayList<>();
+        for (String newsId : onRead) current.add(NewsLineLog.line(newsId, ON_READ));
+        deliveries.forEach((newsId, users) -> users.forEach(user -> current.add(NewsLineLog.line(newsId, user))));
+        return current;
+    }
+}
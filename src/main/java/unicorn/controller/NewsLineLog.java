@@ -0,0 +1,103 @@
+package unicorn.controller;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+
+/**
+ * Archivo de líneas {@code idNotificacion|valor} al que solo se agregan líneas al final, compartido
+ * por {@link NewsReadLog} y {@link NewsDeliveryLog}. Lleva la cuenta de las líneas vigentes para
+ * compactar el archivo al cargarlo cuando la mayoría quedaron obsoletas.
+ *
+ * @description Funcionalidades principales:
+ *                  - Leer las líneas del archivo, dejando que cada registro decida cuáles siguen vigentes.
+ *                  - Agregar un lote de líneas al final con una sola escritura.
+ *                  - Reescribir el archivo con las líneas vigentes: temporal sincronizado con el disco
+ *                    y renombrado atómico.
+ *
+ * @author KNOWLES
+ * @version 1.0
+ * @since 2026-10-18
+ * @see NewsReadLog
+ * @see NewsDeliveryLog
+ */
+final class NewsLineLog {
+    private static final int MIN_LINES_TO_COMPACT = 64;
+
+    private final Path file;
+    private int lines; // Líneas vigentes del archivo
+
+    NewsLineLog(String filePath) {
+        this.file = Paths.get(filePath);
+    }
+
+    static String line(String newsId, String value) {
+        return newsId + "|" + value;
+    }
+
+    /**
+     * Lee el archivo y, si la mayoría de sus líneas quedaron obsoletas, lo compacta.
+     *
+     * @param record Registra una línea (ID de notificación y valor) y devuelve si sigue vigente.
+     * @param current Líneas vigentes, que se piden solo si hay que compactar.
+     */
+    void load(BiPredicate<String, String> record, Supplier<List<String>> current) throws IOException {
+        lines = 0;
+        if (!Files.exists(file)) return;
+
+        int total = 0;
+        for (String line : Files.readAllLines(file, Charset.defaultCharset())) {
+            int separator = line.indexOf('|');
+            if (separator <= 0) continue;
+            total++;
+            if (record.test(line.substring(0, separator), line.substring(separator + 1))) lines++;
+        }
+        if (total >= MIN_LINES_TO_COMPACT && total - lines > lines) compact(current.get());
+    }
+
+    void append(List<String> batch) throws IOException {
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        try (BufferedWriter writer = Files.newBufferedWriter(file, Charset.defaultCharset(),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (String line : batch) {
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+        lines += batch.size();
+    }
+
+    /**
+     * Descuenta líneas que dejaron de estar vigentes; se descartan en la próxima compactación.
+     */
+    void obsolete(int count) {
+        lines -= count;
+    }
+
+    // Reescribe el archivo con las líneas vigentes
+    private void compact(List<String> current) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            BufferedWriter writer = new BufferedWriter(Channels.newWriter(channel, Charset.defaultCharset()));
+            for (String line : current) {
+                writer.write(line);
+                writer.newLine();
+            }
+            writer.flush();
+            channel.force(true); // El renombrado no debe llegar al disco antes que el contenido
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        lines = current.size();
+    }
+}
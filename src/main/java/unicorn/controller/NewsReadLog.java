@@ -0,0 +1,119 @@
+package unicorn.controller;
+
+import unicorn.util.CompactBitmap;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Registro de lecturas de notificaciones por usuario.
+ * Cada usuario recibe un ordinal compacto la primera vez que lee algo, y cada notificación guarda
+ * en un {@link CompactBitmap} los ordinales de quienes la leyeron. Así una notificación global
+ * puede estar leída para un usuario y no para los demás.
+ *
+ * @description Funcionalidades principales:
+ *                  - Registrar que un usuario leyó una notificación, agregando una línea al final del archivo.
+ *                  - Consultar si un usuario leyó una notificación y quiénes la leyeron.
+ *                  - Olvidar las lecturas de notificaciones eliminadas.
+ *                  - Compactar el archivo al cargar si la mayoría de sus líneas quedaron obsoletas.
+ *
+ * @note Las lecturas no participan de la {@link UnitOfWork}: cada marca se escribe de inmediato
+ *       y una línea repetida o de una notificación inexistente se ignora al cargar.
+ *
+ * Formato de cada línea del archivo:
+ * <pre>
+ *     idNotificacion|idUsuario
+ * </pre>
+ *
+ * @author KNOWLES
+ * @version 1.0
+ * @since 2026-10-18
+ * @see NewsController
+ */
+public final class NewsReadLog {
+    private final NewsLineLog log;
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final List<String> users = new ArrayList<>(); // Usuario de cada ordinal
+    private final Map<String, CompactBitmap> readers = new HashMap<>();
+
+    public NewsReadLog(String filePath) {
+        this.log = new NewsLineLog(filePath);
+    }
+
+    /**
+     * Carga las lecturas del archivo, descartando las de notificaciones que ya no existen.
+     *
+     * @param knownNews Indica si una notificación existe.
+     */
+    public synchronized void load(Predicate<String> knownNews) throws IOException {
+        ordinals.clear();
+        users.clear();
+        readers.clear();
+        log.load((newsId, userId) -> knownNews.test(newsId) && mark(newsId, userId), this::currentLines);
+    }
+
+    public synchronized boolean isRead(String newsId, String userId) {
+        Integer ordinal = ordinals.get(userId);
+        CompactBitmap bitmap = readers.get(newsId);
+        return ordinal != null && bitmap != null && bitmap.contains(ordinal);
+    }
+
+    /**
+     * @return Usuarios que leyeron la notificación.
+     */
+    public synchronized List<String> readers(String newsId) {
+        return usersOf(readers.get(newsId));
+    }
+
+    /**
+     * Registra que el usuario leyó la notificación.
+     *
+     * @return true si es una lectura nueva (y se agregó al archivo).
+     * @throws IOException Si no se pudo escribir; en ese caso la lectura no queda registrada.
+     */
+    public synchronized boolean markRead(String newsId, String userId) throws IOException {
+        if (isRead(newsId, userId)) return false;
+        log.append(List.of(NewsLineLog.line(newsId, userId)));
+        mark(newsId, userId);
+        return true;
+    }
+
+    /**
+     * Olvida las lecturas de una notificación eliminada; sus líneas se descartan al compactar.
+     *
+     * @return Usuarios que la habían leído.
+     */
+    public synchronized List<String> forget(String newsId) {
+        CompactBitmap removed = readers.remove(newsId);
+        if (removed != null) log.obsolete(removed.cardinality());
+        return usersOf(removed);
+    }
+
+    private boolean mark(String newsId, String userId) {
+        Integer ordinal = ordinals.get(userId);
+        if (ordinal == null) {
+            ordinal = users.size();
+            ordinals.put(userId, ordinal);
+            users.add(userId);
+        }
+        return readers.computeIfAbsent(newsId, n -> new CompactBitmap()).add(ordinal);
+    }
+
+    private List<String> usersOf(CompactBitmap bitmap) {
+        if (bitmap == null) return List.of();
+        List<String> result = new ArrayList<>(bitmap.cardinality());
+        bitmap.forEach(ordinal -> result.add(users.get(ordinal)));
+        return result;
+    }
+
+    // Una línea por lectura vigente
+    private List<String> currentLines() {
+        List<String> current = new ArrayList<>();
+        readers.forEach((newsId, bitmap) -> bitmap.forEach(ordinal -> current.add(NewsLineLog.line(newsId, users.get(ordinal)))));
+        return current;
+    }
+}
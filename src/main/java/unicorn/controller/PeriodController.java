@@ -3,23 +3,109 @@ package unicorn.controller;
 import unicorn.interfaces.*;
 import unicorn.exceptions.*;
 import unicorn.model.*;
+import unicorn.util.WeeklyIntervalIndex;
 
 import java.time.DayOfWeek;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.function.Consumer;
 
 public class PeriodController implements IPeriod {
     private final RoomController roomService;
     private final IFile<Period> fileHandler;
     private final String filePath = "src/main/java/unicorn/dto/periods.txt";
-    private List<Period> periods;
+    // Se notifican con el ID de cada periodo editado o eliminado
+    private final List<Consumer<String>> changeListeners = new ArrayList<>();
+    // Periodos por ID, en el orden del archivo
+    private final Map<String, Period> periods = new LinkedHashMap<>();
+    // Periodos de cada sala y día ordenados por hora de inicio, para detectar traslapes sin recorrer todos
+    private final WeeklyIntervalIndex<String, Period> roomIndex =
+            new WeeklyIntervalIndex<>(Period::getRoomId, Period::getDay, Period::getStart, Period::getEnd);
 
     public PeriodController(RoomController roomService, IFile<Period> fileHandler) throws FileException {
         this.roomService = roomService;
         this.fileHandler = fileHandler;
         this.fileHandler.createFileIfNotExists(filePath);
-        this.periods = fileHandler.loadData(filePath);
-        if (this.periods == null) this.periods = new ArrayList<>();
+        load(fileHandler.loadData(filePath));
+    }
+
+    private void load(List<Period> loaded) {
+        periods.values().forEach(this::releaseRoom);
+        periods.clear();
+        roomIndex.clear();
+        if (loaded == null) return;
+        for (Period period : loaded) {
+            periods.put(period.getId(), period);
+            roomIndex.add(period);
+            occupyRoom(period);
+        }
+    }
+
+    // Mantiene al día la matriz de ocupación de aulas del RoomController
+    private void occupyRoom(Period period) {
+        if (roomService != null) {
+            roomService.occupy(period.getRoomId(), period.getDay(), period.getStart(), period.getEnd());
+        }
+    }
+
+    private void releaseRoom(Period period) {
+        if (roomService != null) {
+            roomService.release(period.getRoomId(), period.getDay(), period.getStart(), period.getEnd());
+        }
+    }
+
+    /**
+     * Registra una acción que recibe el ID de cada periodo que se edita o elimina.
+     * Permite a quienes referencian periodos por ID (como los horarios) actualizar sus índices.
+     */
+    public void addChangeListener(Consumer<String> listener) {
+        changeListeners.add(listener);
+    }
+
+    private void fireChanged(String periodId) {
+        for (Consumer<String> listener : changeListeners) {
+            listener.accept(periodId);
+        }
+    }
+
+    /**
+     * Registra periodos ya existentes (por ejemplo, los que venían dentro de un horario en el
+     * formato anterior) sin validarlos, guardando una sola vez. Los IDs ya registrados se ignoran.
+     *
+     * @return Cantidad de periodos registrados.
+     */
+    public int adoptPeriods(Collection<Period> existing) throws PeriodException {
+        int count = 0;
+        for (Period period : existing) {
+            if (period == null || periods.containsKey(period.getId())) continue;
+            periods.put(period.getId(), period);
+            roomIndex.add(period);
+            occupyRoom(period);
+            count++;
+        }
+        if (count > 0) {
+            try {
+                persist();
+            } catch (FileException e) {
+                throw new PeriodException("Error al registrar periodos: " + e.getMessage());
+            }
+        }
+        return count;
+    }
+
+    // Guarda la lista completa de periodos; se une a la unidad de trabajo activa si existe
+    private void persist() throws FileException {
+        UnitOfWork.join(this, this::reload);
+        fileHandler.saveData(new ArrayList<>(periods.values()), filePath);
+    }
+
+    // Descarta los cambios en memoria cuando se revierte una unidad de trabajo
+    private void reload() {
+        try {
+            load(fileHandler.loadData(filePath));
+        } catch (FileException e) {
+            System.err.println("Error al recargar periodos: " + e.getMessage());
+        }
     }
 
     // Crea y guarda un periodo
@@ -37,15 +123,94 @@ public class PeriodController implements IPeriod {
         if (!validatePeriod(period)) {
             throw new PeriodException("Invalid period configuration");
         }
-        periods.add(period);
+        if (!checkRoomAvailability(period)) {
+            throw PeriodException.overlap();
+        }
+        periods.put(period.getId(), period);
+        roomIndex.add(period);
+        occupyRoom(period);
         try {
-            fileHandler.saveData(periods, filePath);
+            persist();
         } catch (FileException e) {
             throw new PeriodException("Error al guardar el periodo: " + e.getMessage());
         }
         return period;
     }
 
+    /**
+     * Crea varios periodos de una materia y los guarda con una sola escritura.
+     * Cada periodo se valida y se compara contra los periodos existentes y contra los anteriores del
+     * mismo lote. Si alguno es inválido o choca, no se crea ninguno.
+     *
+     * @param subjectId ID de la materia de todos los periodos.
+     * @param infos Día, horario y aula de cada periodo.
+     * @return Los periodos creados, en el mismo orden que {@code infos}.
+     * @throws PeriodException Si algún periodo es inválido o choca (el mensaje indica cuáles),
+     *                         o si falla el guardado.
+     */
+    public List<Period> createPeriods(String subjectId, List<ScheduleController.PeriodInfo> infos) throws PeriodException {
+        return createBatch(subjectId, infos, true);
+    }
+
+    // Agrega los periodos válidos del lote y guarda una sola vez. Con allOrNothing, cualquier error
+    // descarta el lote completo; sin él, los periodos con error se informan por System.err y se omiten.
+    private List<Period> createBatch(String subjectId, List<ScheduleController.PeriodInfo> infos,
+                                     boolean allOrNothing) throws PeriodException {
+        List<Period> created = new ArrayList<>(infos.size());
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < infos.size(); i++) {
+            ScheduleController.PeriodInfo info = infos.get(i);
+            Period period = new Period.Builder()
+                    .withId(UUID.randomUUID().toString())
+                    .withDay(info.day())
+                    .withTimeRange(info.startTime(), info.endTime())
+                    .forSubject(subjectId)
+                    .inRoom(info.roomId())
+                    .build();
+            try {
+                validatePeriod(period);
+                // Los periodos previos del lote ya están en el índice, así que también se detectan sus choques
+                if (!checkRoomAvailability(period)) throw PeriodException.overlap();
+            } catch (PeriodException e) {
+                String error = "Periodo " + (i + 1) + " (aula " + info.roomId() + ", " + info.day() + " "
+                        + info.startTime() + "-" + info.endTime() + "): " + e.getMessage();
+                if (allOrNothing) {
+                    errors.add(error);
+                } else {
+                    System.err.println("Error al crear periodo: " + error);
+                }
+                continue;
+            }
+            periods.put(period.getId(), period);
+            roomIndex.add(period);
+            occupyRoom(period);
+            created.add(period);
+        }
+
+        if (!errors.isEmpty()) {
+            discard(created);
+            throw new PeriodException("No se creó ningún periodo del lote: " + String.join("; ", errors));
+        }
+        if (created.isEmpty()) return created;
+
+        try {
+            persist();
+        } catch (FileException e) {
+            discard(created);
+            throw new PeriodException("Error al guardar el lote de periodos: " + e.getMessage());
+        }
+        return created;
+    }
+
+    // Quita de memoria periodos que no llegaron a guardarse
+    private void discard(List<Period> toDiscard) {
+        for (Period period : toDiscard) {
+            periods.remove(period.getId());
+            roomIndex.remove(period);
+            releaseRoom(period);
+        }
+    }
+
     // Valida reglas de negocio de periodos
     @Override
     public boolean validatePeriod(Period period) throws PeriodException {
@@ -79,33 +244,38 @@ public class PeriodController implements IPeriod {
         return true;
     }
 
-    // Verifica traslape de horarios en la sala
+    // Verifica traslape de horarios en la sala; un periodo no se traslapa consigo mismo (mismo ID)
     @Override
     public boolean checkRoomAvailability(Period period) throws PeriodException {
-        List<Period> scheduledPeriods = getScheduledPeriodsForRoom(period.getRoomId(), period.getDay());
-        for (Period scheduled : scheduledPeriods) {
-            if (periodsOverlap(period, scheduled)) {
-                return false;
-            }
-        }
-        return true;
+        return findRoomConflict(period, periods.get(period.getId())) == null;
+    }
+
+    // Devuelve el primer periodo de la sala que se cruza con el dado, ignorando el periodo "replaced"
+    private Period findRoomConflict(Period period, Period replaced) {
+        return roomIndex.firstOverlap(period.getRoomId(), period.getDay(),
+                period.getStart(), period.getEnd(), replaced);
     }
 
-    // Devuelve los periodos agendados para una sala y día
+    // Devuelve los periodos agendados para una sala y día, ordenados por hora de inicio
     public List<Period> getScheduledPeriodsForRoom(String roomId, DayOfWeek day) {
-        List<Period> result = new ArrayList<>();
-        for (Period p : periods) {
-            if (p.getRoomId().equals(roomId) && p.getDay() == day) {
-                result.add(p);
-            }
-        }
-        return result;
+        return new ArrayList<>(roomIndex.get(roomId, day));
     }
 
-    // Utilidad para traslape de periodos
-    private boolean periodsOverlap(Period p1, Period p2) {
-        if (!p1.getDay().equals(p2.getDay())) return false;
-        return !p1.getEnd().isBefore(p2.getStart()) && !p1.getStart().isAfter(p2.getEnd());
+    /**
+     * Obtiene los periodos de una sala en un día que se cruzan con el rango [start, end).
+     * Un periodo que termina exactamente a la hora "start" no se incluye.
+     */
+    public List<Period> getPeriodsForRoomBetween(String roomId, DayOfWeek day, LocalTime start, LocalTime end) {
+        return roomIndex.overlapping(roomId, day, start, end);
+    }
+
+    public Period getPeriodById(String periodId) {
+        return periods.get(periodId);
+    }
+
+    // Devuelve todos los periodos en el orden del archivo
+    public List<Period> getAllPeriods() {
+        return new ArrayList<>(periods.values());
     }
 
         /**
@@ -114,13 +284,7 @@ public class PeriodController implements IPeriod {
      */
     public Period editPeriod(String periodId, String newSubjectId, String newRoomId, DayOfWeek newDay,
                              LocalTime newStart, LocalTime newEnd) throws PeriodException {
-        Period toEdit = null;
-        for (Period p : periods) {
-            if (p.getId().equals(periodId)) {
-                toEdit = p;
-                break;
-            }
-        }
+        Period toEdit = periods.get(periodId);
         if (toEdit == null) throw new PeriodException("Period not found");
 
         // Crea el nuevo periodo con los datos actualizados
@@ -136,12 +300,20 @@ public class PeriodController implements IPeriod {
             throw new PeriodException("Invalid updated period configuration");
         }
 
-        // Reemplaza el periodo en la lista
-        periods.remove(toEdit);
-        periods.add(updated);
+        if (findRoomConflict(updated, toEdit) != null) {
+            throw PeriodException.overlap();
+        }
+
+        // Reemplaza el periodo en el mapa y en el índice
+        periods.put(periodId, updated);
+        roomIndex.remove(toEdit);
+        roomIndex.add(updated);
+        releaseRoom(toEdit);
+        occupyRoom(updated);
+        fireChanged(periodId);
 
         try {
-            fileHandler.saveData(periods, filePath);
+            persist();
         } catch (FileException e) {
             throw new PeriodException("Error al guardar el periodo editado: " + e.getMessage());
         }
@@ -153,15 +325,44 @@ public class PeriodController implements IPeriod {
      * Retorna true si se eliminó, false si no existe.
      */
     public boolean deletePeriod(String periodId) throws PeriodException {
-        boolean removed = periods.removeIf(p -> p.getId().equals(periodId));
-        if (removed) {
+        Period removed = periods.remove(periodId);
+        if (removed != null) {
+            roomIndex.remove(removed);
+            releaseRoom(removed);
+            fireChanged(periodId);
             try {
-                fileHandler.saveData(periods, filePath);
+                persist();
             } catch (FileException e) {
                 throw new PeriodException("Error al eliminar el periodo: " + e.getMessage());
             }
         }
-        return removed;
+        return removed != null;
+    }
+
+    /**
+     * Elimina varios periodos por ID con una sola escritura.
+     * Los IDs que no existen se ignoran.
+     *
+     * @return Cantidad de periodos eliminados.
+     */
+    public int deletePeriods(Collection<String> periodIds) throws PeriodException {
+        int count = 0;
+        for (String periodId : periodIds) {
+            Period removed = periods.remove(periodId);
+            if (removed == null) continue;
+            roomIndex.remove(removed);
+            releaseRoom(removed);
+            fireChanged(periodId);
+            count++;
+        }
+        if (count > 0) {
+            try {
+                persist();
+            } catch (FileException e) {
+                throw new PeriodException("Error al eliminar los periodos: " + e.getMessage());
+            }
+        }
+        return count;
     }
 
     /**
@@ -189,23 +390,19 @@ public class PeriodController implements IPeriod {
                 DayOfWeek.SATURDAY
         };
 
-        // Crear periodos para cada aula y cada día
+        // Un periodo que abarque todo el día disponible para cada aula y cada día
+        List<ScheduleController.PeriodInfo> infos = new ArrayList<>(classrooms.size() * days.length);
         for (Room room : classrooms) {
             for (DayOfWeek day : days) {
                 LocalTime startTime = LocalTime.of(6, 45);
                 LocalTime endTime = day == DayOfWeek.SATURDAY ? 
                         LocalTime.of(15, 45) : 
                         LocalTime.of(21, 45);
-
-                try {
-                    // Crear un periodo que abarque todo el día disponible
-                    createPeriod(subjectId, room.getId(), day, startTime, endTime);
-                } catch (PeriodException e) {
-                    // Continuar con las demás aulas si hay error en una
-                    System.err.println("Error al crear periodo para aula " + room.getId() + 
-                                    ", día " + day + ": " + e.getMessage());
-                }
+                infos.add(new ScheduleController.PeriodInfo(day, startTime, endTime, room.getId()));
             }
         }
+
+        // Se guardan todos juntos; los periodos con error se informan y se continúa con los demás
+        createBatch(subjectId, infos, false);
     }
 }
\ No newline at end of file
@@ -0,0 +1,148 @@
+package unicorn.controller;
+
+import unicorn.exceptions.*;
+import unicorn.interfaces.IFile;
+import unicorn.model.*;
+
+/**
+ * Registro de repositorios compartido por todo el proceso.
+ * Cada archivo de datos tiene un único controlador, que se crea y carga la primera vez que se
+ * solicita y luego se reutiliza. Los menús de consola y las pantallas obtienen de aquí sus
+ * controladores, en lugar de crear copias propias que vuelven a leer el archivo y que, al guardar,
+ * sobrescriben los cambios hechos por las demás.
+ *
+ * @description Funcionalidades principales:
+ *                   - Proveer una instancia única y cargada de cada controlador.
+ *                   - Configurar en un solo lugar los manejadores de archivos de cada entidad.
+ *                   - Compartir el RoomController entre salas, periodos y horarios.
+ *                   - Entregar vistas de notificaciones por usuario sobre los mismos datos en memoria.
+ *                   - Resolver los destinatarios de las notificaciones de materia con los horarios.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ *     RepositoryRegistry registry = RepositoryRegistry.getInstance();
+ *     AccountController accounts = registry.accounts();
+ *     NewsController inbox = registry.newsFor(account.getId());
+ * </pre>
+ *
+ * @author KNOWLES
+ * @version 1.0
+ * @since 2026-10-18
+ * @see AccountController
+ * @see NewsController
+ */
+public final class RepositoryRegistry {
+    private static final String SYSTEM_USER = "system";
+
+    private static RepositoryRegistry instance;
+
+    // Guardados durables sin group commit: en los menús cada guardado debe estar en disco al retornar,
+    // y las cargas masivas agrupan sus escrituras con una UnitOfWork
+    private final IFile<Account> accountFile = new FileHandler.Builder<>(new Account()).durable().build();
+    private final IFile<Substitute> substituteFile = new FileHandler<>(new Substitute());
+    private final IFile<FaQ> faqFile = new FileHandler<>(new FaQ());
+    private final IFile<News> newsFile = new LogFileHandler<>(new News());
+    private final IFile<Subject> subjectFile = new FileHandler.Builder<>(new Subject()).durable().build();
+    private final IFile<Room> roomFile = new FileHandler.Builder<>(new Room()).durable().build();
+    private final IFile<Schedule> scheduleFile = new FileHandler.Builder<>(new Schedule()).durable().memoryMapped().build();
+    private final IFile<Period> periodFile = new FileHandler.Builder<>(new Period()).durable().parallelLoad().memoryMapped().build();
+
+    private AccountController accounts;
+    private SubstituteController substitutes;
+    private NewsController news;
+    private FaQController faqs;
+    private SubjectController subjects;
+    private RoomController rooms;
+    private PeriodController periods;
+    private ScheduleController schedules;
+
+    private RepositoryRegistry() {
+    }
+
+    public static synchronized RepositoryRegistry getInstance() {
+        if (instance == null) {
+            instance = new RepositoryRegistry();
+        }
+        return instance;
+    }
+
+    /**
+     * Controlador de cuentas compartido. Sus notificaciones automáticas se envían a nombre del sistema
+     * y registra las sustituciones en el controlador de sustituciones compartido.
+     */
+    public synchronized AccountController accounts() throws AccountException, NewsException {
+        if (accounts == null) {
+            SubstituteController sharedSubstitutes;
+            try {
+                sharedSubstitutes = substitutes();
+            } catch (SubstituteException e) {
+                throw new AccountException("Error al cargar las sustituciones: " + e.getMessage());
+            }
+            accounts = new AccountController(accountFile, sharedSubstitutes, news(), faqFile);
+        }
+        return accounts;
+    }
+
+    public synchronized SubstituteController substitutes() throws SubstituteException {
+        if (substitutes == null) {
+            substitutes = new SubstituteController(substituteFile);
+        }
+        return substitutes;
+    }
+
+    /**
+     * Controlador de notificaciones compartido, que envía a nombre del sistema.
+     * Las notificaciones de materia se entregan según los horarios.
+     */
+    public synchronized NewsController news() throws NewsException {
+        if (news == null) {
+            news = new NewsController(newsFile, SYSTEM_USER, new ScheduleRecipients(this::schedules));
+        }
+        return news;
+    }
+
+    /**
+     * Vista de las notificaciones para un usuario: envía a su nombre y comparte los datos cargados
+     * con el resto del proceso, por lo que no vuelve a leer el archivo.
+     *
+     * @param userId ID del usuario que envía las notificaciones.
+     */
+    public synchronized NewsController newsFor(String userId) throws NewsException {
+        return new NewsController(news(), userId);
+    }
+
+    public synchronized FaQController faqs() throws FaQException {
+        if (faqs == null) {
+            faqs = new FaQController(faqFile);
+        }
+        return faqs;
+    }
+
+    public synchronized SubjectController subjects() throws SubjectException {
+        if (subjects == null) {
+            subjects = new SubjectController(subjectFile);
+        }
+        return subjects;
+    }
+
+    public synchronized RoomController rooms() throws RoomException {
+        if (rooms == null) {
+            rooms = new RoomController(roomFile);
+        }
+        return rooms;
+    }
+
+    public synchronized PeriodController periods() throws RoomException, FileException {
+        if (periods == null) {
+            periods = new PeriodController(rooms(), periodFile);
+        }
+        return periods;
+    }
+
+    public synchronized ScheduleController schedules() throws ScheduleException, RoomException, FileException {
+        if (schedules == null) {
+            schedules = new ScheduleController(scheduleFile, periods());
+        }
+        return schedules;
+    }
+}
@@ -6,8 +6,12 @@ import unicorn.interfaces.IFile;
 import unicorn.interfaces.IRoom;
 import unicorn.util.*;
 
+import java.io.UncheckedIOException;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Clase que actúa como controlador para la gestión de habitaciones.
@@ -23,6 +27,8 @@ import java.util.stream.Collectors;
  *                   - Gestionar la disponibilidad de habitaciones.
  *                   - Establecer habitaciones en mantenimiento u ocupadas.
  *                   - Listar habitaciones disponibles o por tipo.
+ *                   - Buscar aulas libres en un horario por tipo, capacidad y proyector mediante una
+ *                     matriz de ocupación en bloques de 15 minutos que PeriodController mantiene al día.
  *                   - Crear habitaciones predeterminadas si no existen.
  *
  * @author KNOWLES
@@ -39,6 +45,7 @@ public class RoomController implements IRoom {
     private final IFile<Room> fileHandler;
     private final String filePath = "src/main/java/unicorn/dto/rooms.txt";
     private Map<String, Room> rooms;
+    private final RoomOccupancy occupancy = new RoomOccupancy();
     /**
      * Constructor que inicializa el controlador cargando aulas desde persistencia.
      * Si no existen aulas, crea un conjunto predeterminado.
@@ -58,12 +65,14 @@ public class RoomController implements IRoom {
 
         try {
             this.fileHandler.createFileIfNotExists(filePath);
-            List<Room> loadedRooms = this.fileHandler.loadData(filePath);
+            try (Stream<Room> loadedRooms = this.fileHandler.streamData(filePath)) {
+                loadedRooms.forEach(this::putRoom);
+            } catch (UncheckedIOException e) {
+                throw FileException.readError();
+            }
 
-            if (loadedRooms == null || loadedRooms.isEmpty()) {
+            if (rooms.isEmpty()) {
                 //createDefaultRooms();
-            } else {
-                loadedRooms.forEach(room -> rooms.put(room.getId(), room));
             }
             saveChanges();
         } catch (FileException e) {
@@ -76,12 +85,32 @@ public class RoomController implements IRoom {
      * @throws RoomException Si falla la escritura en el archivo.
      */
     private void saveChanges() throws RoomException {
+        UnitOfWork.join(this, this::reload);
         try {
             fileHandler.saveData(new ArrayList<>(rooms.values()), filePath);
         } catch (FileException e) {
             throw new RoomException("Error al guardar los cambios: " + e.getMessage());
         }
     }
+    /**
+     * Descarta los cambios en memoria recargando las aulas desde el archivo.
+     * Se usa al revertir una {@link UnitOfWork}.
+     */
+    private void reload() {
+        rooms.clear();
+        occupancy.unregisterAll();
+        try (Stream<Room> loadedRooms = fileHandler.streamData(filePath)) {
+            loadedRooms.forEach(this::putRoom);
+        } catch (FileException | UncheckedIOException e) {
+            System.err.println("Error al recargar aulas: " + e.getMessage());
+        }
+    }
+
+    // Agrega o reemplaza un aula en memoria y actualiza sus atributos en la matriz de ocupación
+    private void putRoom(Room room) {
+        rooms.put(room.getId(), room);
+        occupancy.register(room);
+    }
     /**
      * Registra un nuevo aula en el sistema.
      *
@@ -106,7 +135,7 @@ public class RoomController implements IRoom {
             throw new RoomException("Ya existe un aula con este nombre");
         }
 
-        rooms.put(room.getId(), room);
+        putRoom(room);
         saveChanges();
     }
     /**
@@ -149,7 +178,7 @@ public class RoomController implements IRoom {
             throw new RoomException("Ya existe un aula con este nombre");
         }
 
-        rooms.put(room.getId(), room);
+        putRoom(room);
         saveChanges();
     }
     /**
@@ -172,6 +201,7 @@ public class RoomController implements IRoom {
         }
 
         rooms.remove(id);
+        occupancy.unregister(id);
         saveChanges();
     }
     /**
@@ -257,6 +287,7 @@ public class RoomController implements IRoom {
     public void setRoomMaintenance(String roomId, boolean inMaintenance) throws RoomException {
         Room room = getRoomById(roomId);
         room.setDisponible(inMaintenance ? 'M' : 'L');
+        occupancy.register(room);
         saveChanges();
     }
     /**
@@ -270,6 +301,7 @@ public class RoomController implements IRoom {
     public void setRoomOccupied(String roomId, boolean occupied) throws RoomException {
         Room room = getRoomById(roomId);
         room.setDisponible(occupied ? 'O' : 'L');
+        occupancy.register(room);
         saveChanges();
     }
 
@@ -281,6 +313,51 @@ public class RoomController implements IRoom {
     public List<Room> getAllRooms() {
         return new ArrayList<>(rooms.values());
     }
+
+    /**
+     * Busca las aulas libres durante todo el rango [start, end) de un día, que además cumplan los criterios.
+     * Las aulas en mantenimiento no se incluyen.
+     *
+     * @param day Día de la semana (lunes a sábado).
+     * @param start Hora de inicio.
+     * @param end Hora de fin.
+     * @param tipo Tipo de aula requerido, o null para cualquiera.
+     * @param minCapacity Capacidad mínima (0 para no filtrar).
+     * @param requireProjector true para exigir proyector.
+     * @return Lista de aulas libres (vacía si no hay resultados).
+     *
+     * @example
+     * {@code
+     * // Laboratorios con al menos 30 lugares y proyector, libres el martes de 09:45 a 11:15
+     * controller.findFreeRooms(DayOfWeek.TUESDAY, LocalTime.of(9, 45), LocalTime.of(11, 15),
+     *                          TipoRoom.LABORATORIO, 30, true);
+     * }
+     */
+    public List<Room> findFreeRooms(DayOfWeek day, LocalTime start, LocalTime end,
+                                    TipoRoom tipo, int minCapacity, boolean requireProjector) {
+        List<Room> result = new ArrayList<>();
+        for (String id : occupancy.findFree(day, start, end, tipo, minCapacity, requireProjector)) {
+            Room room = rooms.get(id);
+            if (room != null) result.add(room);
+        }
+        return result;
+    }
+
+    /**
+     * Marca un rango horario del aula como ocupado en la matriz de ocupación.
+     * Lo llama PeriodController cada vez que agrega o carga un periodo.
+     */
+    public void occupy(String roomId, DayOfWeek day, LocalTime start, LocalTime end) {
+        occupancy.occupy(roomId, day, start, end);
+    }
+
+    /**
+     * Libera un rango horario marcado con {@link #occupy}.
+     * Lo llama PeriodController cada vez que edita o elimina un periodo.
+     */
+    public void release(String roomId, DayOfWeek day, LocalTime start, LocalTime end) {
+        occupancy.release(roomId, day, start, end);
+    }
     
     /**
      * Crea un conjunto predeterminado de aulas (3 edificios, 20 virtuales, laboratorios y auditorios).
@@ -4,36 +4,98 @@ package unicorn.controller;
 import unicorn.interfaces.*;
 import unicorn.exceptions.*;
 import unicorn.model.*;
+import unicorn.util.ConflictAuditor;
+import unicorn.util.WeeklyIntervalIndex;
+
+import java.io.IOException;
+import java.nio.file.Path;
 
 import java.time.DayOfWeek;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 public class ScheduleController implements ISchedule {
     private final IFile<Schedule> fileHandler;
     private final PeriodController periodController;
     private final String filePath = "src/main/java/unicorn/dto/schedules.txt";
     private Map<String, Schedule> schedules;
+    // Horarios de cada profesor, y sus periodos por día ordenados por hora para detectar choques
+    private final Map<String, Map<String, Schedule>> byProfesor = new HashMap<>();
+    private final WeeklyIntervalIndex<String, ProfessorSlot> professorIndex = new WeeklyIntervalIndex<>(
+            ProfessorSlot::profesorId, ProfessorSlot::day, ProfessorSlot::start, ProfessorSlot::end);
+    // Datos con los que se indexó cada horario, para quitarlo aunque el objeto haya cambiado después
+    private final Map<String, List<ProfessorSlot>> indexedSlots = new HashMap<>();
+    private final Map<String, String> indexedProfesor = new HashMap<>();
+    // Horarios que referencian cada periodo, y los periodos con que se indexó cada horario
+    private final Map<String, Set<String>> schedulesByPeriod = new HashMap<>();
+    private final Map<String, List<String>> indexedPeriodIds = new HashMap<>();
+
+    private record ProfessorSlot(String profesorId, String scheduleId, DayOfWeek day, LocalTime start, LocalTime end) {}
 
      public ScheduleController(IFile<Schedule> fileHandler, PeriodController periodController) 
         throws ScheduleException {
         this.fileHandler = fileHandler;
         this.periodController = periodController;
         this.schedules = new HashMap<>();
-        loadData();
+        // Si un periodo se edita o elimina, los horarios que lo usan se vuelven a indexar
+        periodController.addChangeListener(this::periodChanged);
+        if (loadData()) {
+            // El archivo tenía el formato anterior: se reescribe solo con las referencias a los periodos
+            saveData();
+        }
     }
 
-    private void loadData() throws ScheduleException {
+    /**
+     * Carga los horarios del archivo.
+     *
+     * @return true si algún horario traía sus periodos completos (formato anterior) y se migró.
+     */
+    private boolean loadData() throws ScheduleException {
+        List<Period> embedded = new ArrayList<>();
         try {
             fileHandler.createFileIfNotExists(filePath);
-            List<Schedule> loaded = fileHandler.loadData(filePath);
-            if (loaded != null) loaded.forEach(s -> schedules.put(s.getId(), s));
+            try (Stream<Schedule> loaded = fileHandler.streamData(filePath)) {
+                loaded.forEach(s -> {
+                    schedules.put(s.getId(), s);
+                    embedded.addAll(s.getEmbeddedPeriods());
+                });
+            }
         } catch (Exception e) {
             throw new ScheduleException("Error al cargar horarios: " + e.getMessage());
         }
+
+        // Los periodos del formato anterior que no estén en periods.txt se registran allí
+        adoptPeriods(embedded);
+        for (Schedule s : schedules.values()) {
+            s.resolvePeriodsWith(periodController::getPeriodById);
+            index(s);
+        }
+        return !embedded.isEmpty();
+    }
+
+    private void adoptPeriods(List<Period> embedded) throws ScheduleException {
+        if (embedded.isEmpty()) return;
+        try {
+            periodController.adoptPeriods(embedded);
+        } catch (PeriodException e) {
+            throw new ScheduleException("Error al registrar los periodos del horario: " + e.getMessage());
+        }
+    }
+
+    // Vuelve a indexar los horarios que usan un periodo que cambió en el repositorio de periodos
+    private void periodChanged(String periodId) {
+        Set<String> affected = schedulesByPeriod.get(periodId);
+        if (affected == null) return;
+        for (String scheduleId : new ArrayList<>(affected)) {
+            Schedule schedule = schedules.get(scheduleId);
+            unindex(scheduleId);
+            if (schedule != null) index(schedule);
+        }
     }
 
     private void saveData() throws ScheduleException {
+        UnitOfWork.join(this, this::reload);
         try {
             fileHandler.saveData(new ArrayList<>(schedules.values()), filePath);
         } catch (Exception e) {
@@ -41,11 +103,120 @@ public class ScheduleController implements ISchedule {
         }
     }
 
+    // Descarta los cambios en memoria cuando se revierte una unidad de trabajo
+    private void reload() {
+        schedules.clear();
+        clearIndex();
+        try {
+            loadData();
+        } catch (ScheduleException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
+    private void index(Schedule schedule) {
+        List<String> periodIds = new ArrayList<>(schedule.getPeriodIds());
+        indexedPeriodIds.put(schedule.getId(), periodIds);
+        for (String periodId : periodIds) {
+            schedulesByPeriod.computeIfAbsent(periodId, p -> new HashSet<>()).add(schedule.getId());
+        }
+
+        String profesorId = schedule.getProfesorId();
+        if (profesorId == null) return;
+
+        byProfesor.computeIfAbsent(profesorId, p -> new LinkedHashMap<>()).put(schedule.getId(), schedule);
+        indexedProfesor.put(schedule.getId(), profesorId);
+
+        List<ProfessorSlot> slots = new ArrayList<>();
+        if (schedule.getPeriods() != null) {
+            for (Period period : schedule.getPeriods()) {
+                if (period == null) continue;
+                ProfessorSlot slot = new ProfessorSlot(profesorId, schedule.getId(),
+                        period.getDay(), period.getStart(), period.getEnd());
+                professorIndex.add(slot);
+                slots.add(slot);
+            }
+        }
+        indexedSlots.put(schedule.getId(), slots);
+    }
+
+    private void unindex(String scheduleId) {
+        List<String> periodIds = indexedPeriodIds.remove(scheduleId);
+        if (periodIds != null) {
+            for (String periodId : periodIds) {
+                Set<String> users = schedulesByPeriod.get(periodId);
+                if (users == null) continue;
+                users.remove(scheduleId);
+                if (users.isEmpty()) schedulesByPeriod.remove(periodId);
+            }
+        }
+
+        String profesorId = indexedProfesor.remove(scheduleId);
+        if (profesorId == null) return;
+
+        Map<String, Schedule> own = byProfesor.get(profesorId);
+        if (own != null) {
+            own.remove(scheduleId);
+            if (own.isEmpty()) byProfesor.remove(profesorId);
+        }
+        List<ProfessorSlot> slots = indexedSlots.remove(scheduleId);
+        if (slots != null) slots.forEach(professorIndex::remove);
+    }
+
+    private void clearIndex() {
+        byProfesor.clear();
+        professorIndex.clear();
+        indexedSlots.clear();
+        indexedProfesor.clear();
+        schedulesByPeriod.clear();
+        indexedPeriodIds.clear();
+    }
+
+    /**
+     * Busca los horarios del profesor que se cruzan con alguno de los rangos indicados.
+     *
+     * @param profesorId ID del profesor.
+     * @param ranges Rangos a comprobar (día, inicio y fin de cada periodo).
+     * @param ignoredScheduleId Horario que no cuenta como conflicto (el que se está actualizando), o null.
+     * @return IDs de los horarios en conflicto, en orden de aparición (vacío si no hay).
+     */
+    private Set<String> findProfessorConflicts(String profesorId, List<PeriodInfo> ranges, String ignoredScheduleId) {
+        Set<String> conflicts = new LinkedHashSet<>();
+        if (profesorId == null) return conflicts;
+        for (PeriodInfo range : ranges) {
+            if (range.day() == null || range.startTime() == null || range.endTime() == null) continue;
+            for (ProfessorSlot slot : professorIndex.overlapping(profesorId, range.day(), range.startTime(), range.endTime())) {
+                if (!slot.scheduleId().equals(ignoredScheduleId)) conflicts.add(slot.scheduleId());
+            }
+        }
+        return conflicts;
+    }
+
+    private void checkProfessorAvailability(Schedule schedule, String ignoredScheduleId) throws ScheduleException {
+        List<PeriodInfo> ranges = new ArrayList<>();
+        if (schedule.getPeriods() != null) {
+            for (Period p : schedule.getPeriods()) {
+                if (p != null) ranges.add(new PeriodInfo(p.getDay(), p.getStart(), p.getEnd(), p.getRoomId()));
+            }
+        }
+        Set<String> conflicts = findProfessorConflicts(schedule.getProfesorId(), ranges, ignoredScheduleId);
+        if (!conflicts.isEmpty()) throw ScheduleException.professorConflict(conflicts);
+    }
+
+    /**
+     * Registra un horario.
+     *
+     * @throws ScheduleException Si el ID ya existe o si el profesor ya dicta otro horario en alguno
+     *                           de sus periodos ({@link ScheduleException#getConflictingScheduleIds()}).
+     */
     @Override
     public void addSchedule(Schedule schedule) throws ScheduleException {
         if (schedules.containsKey(schedule.getId()))
             throw new ScheduleException("Ya existe un horario con este ID");
+        checkProfessorAvailability(schedule, null);
+        attach(schedule);
         schedules.put(schedule.getId(), schedule);
+        index(schedule);
         saveData();
     }
 
@@ -58,11 +229,8 @@ public class ScheduleController implements ISchedule {
 
     @Override
     public List<Schedule> getSchedulesByProfesor(String profesorId) throws ScheduleException {
-        List<Schedule> result = new ArrayList<>();
-        for (Schedule s : schedules.values()) {
-            if (s.getProfesorId().equals(profesorId)) result.add(s);
-        }
-        return result;
+        Map<String, Schedule> own = byProfesor.get(profesorId);
+        return own == null ? new ArrayList<>() : new ArrayList<>(own.values());
     }
 
     @Override
@@ -74,20 +242,68 @@ public class ScheduleController implements ISchedule {
         return result;
     }
 
+    /**
+     * Actualiza un horario. Si el profesor queda con un cruce, la actualización se rechaza y, cuando
+     * se modificó la misma instancia registrada, se le devuelven el profesor y los periodos que tenía.
+     *
+     * @throws ScheduleException Si el horario no existe o si el profesor ya dicta otro horario en alguno
+     *                           de sus periodos ({@link ScheduleException#getConflictingScheduleIds()}).
+     */
     @Override
     public void updateSchedule(Schedule schedule) throws ScheduleException {
         if (!schedules.containsKey(schedule.getId()))
             throw new ScheduleException("Horario no encontrado");
+        try {
+            checkProfessorAvailability(schedule, schedule.getId());
+        } catch (ScheduleException e) {
+            restoreIndexedState(schedule);
+            throw e;
+        }
+        attach(schedule);
         schedules.put(schedule.getId(), schedule);
+        unindex(schedule.getId());
+        index(schedule);
         saveData();
     }
 
+    // Los llamadores suelen modificar la instancia registrada antes de actualizarla: se le devuelve
+    // el estado con el que quedó indexada
+    private void restoreIndexedState(Schedule schedule) {
+        if (schedules.get(schedule.getId()) != schedule) return;
+        List<Period> periods = new ArrayList<>();
+        for (String periodId : indexedPeriodIds.getOrDefault(schedule.getId(), List.of())) {
+            Period period = periodController.getPeriodById(periodId);
+            if (period != null) periods.add(period);
+        }
+        schedule.setProfesorId(indexedProfesor.get(schedule.getId()));
+        schedule.setPeriods(periods);
+    }
+
+    // Registra en el repositorio los periodos asignados en memoria que aún no existen en él, y hace
+    // que el horario resuelva sus periodos desde allí
+    private void attach(Schedule schedule) throws ScheduleException {
+        adoptPeriods(schedule.getEmbeddedPeriods());
+        schedule.resolvePeriodsWith(periodController::getPeriodById);
+    }
+
+    /**
+     * Elimina un horario junto con los periodos que solo él utiliza.
+     */
     @Override
     public void deleteSchedule(String id) throws ScheduleException {
-        if (schedules.remove(id) != null) {
-            saveData();
-        } else {
-            throw new ScheduleException("Horario no encontrado");
+        Schedule removed = schedules.remove(id);
+        if (removed == null) throw new ScheduleException("Horario no encontrado");
+
+        unindex(id);
+        List<String> unused = new ArrayList<>();
+        for (String periodId : removed.getPeriodIds()) {
+            if (!schedulesByPeriod.containsKey(periodId)) unused.add(periodId);
+        }
+        saveData();
+        try {
+            periodController.deletePeriods(unused);
+        } catch (PeriodException e) {
+            System.err.println("Error al eliminar los periodos del horario: " + e.getMessage());
         }
     }
 
@@ -110,20 +326,16 @@ public class ScheduleController implements ISchedule {
     public Schedule createCompleteSchedule(String subjectId, String group, String professorId, 
                                             String classType, List<PeriodInfo> periodsInfo) 
                                             throws ScheduleException {
-        List<Period> periods = new ArrayList<>();
-        for (PeriodInfo period : periodsInfo) {
-            try {
-                Period newPeriod = periodController.createPeriod(
-                    subjectId,
-                    period.roomId(),
-                    period.day(),
-                    period.startTime(),
-                    period.endTime()
-                );
-                periods.add(newPeriod);
-            } catch (PeriodException e) {
-                throw new ScheduleException("Error al crear periodo: " + e.getMessage());
-            }
+        // Se comprueba antes de crear los periodos para no dejar periodos huérfanos
+        Set<String> conflicts = findProfessorConflicts(professorId, periodsInfo, null);
+        if (!conflicts.isEmpty()) throw ScheduleException.professorConflict(conflicts);
+
+        // Todos los periodos se validan juntos y se guardan con una sola escritura
+        List<Period> periods;
+        try {
+            periods = periodController.createPeriods(subjectId, periodsInfo);
+        } catch (PeriodException e) {
+            throw new ScheduleException("Error al crear periodo: " + e.getMessage());
         }
 
         Schedule schedule = new Schedule(
@@ -134,9 +346,41 @@ public class ScheduleController implements ISchedule {
             periods
         );
 
-        addSchedule(schedule);
+        try {
+            addSchedule(schedule);
+        } catch (ScheduleException e) {
+            discardPeriods(periods);
+            throw e;
+        }
         return schedule;
     }
+
+    /**
+     * Audita todos los periodos y horarios en busca de choques de aula y de profesor,
+     * escribiendo el reporte en un archivo (ver {@link ConflictAuditor}).
+     *
+     * @param report Archivo de salida; se sobrescribe.
+     * @return Resumen con la cantidad de conflictos.
+     * @throws ScheduleException Si no se pudo escribir el reporte.
+     */
+    public ConflictAuditor.Report auditConflicts(Path report) throws ScheduleException {
+        try {
+            return ConflictAuditor.audit(periodController.getAllPeriods(), schedules.values(), report);
+        } catch (IOException e) {
+            throw new ScheduleException("Error al escribir el reporte de conflictos: " + e.getMessage());
+        }
+    }
+
+    // Elimina los periodos ya creados de un horario que no se pudo registrar
+    private void discardPeriods(List<Period> periods) {
+        List<String> ids = new ArrayList<>(periods.size());
+        periods.forEach(p -> ids.add(p.getId()));
+        try {
+            periodController.deletePeriods(ids);
+        } catch (PeriodException e) {
+            System.err.println("Error al descartar periodos: " + e.getMessage());
+        }
+    }
     
     // Clase de apoyo para información de periodos
     public record PeriodInfo(DayOfWeek day, LocalTime startTime, LocalTime endTime, String roomId) {}
@@ -0,0 +1,62 @@
+package unicorn.controller;
+
+import unicorn.interfaces.ISchedule;
+import unicorn.model.Schedule;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Destinatarios de las notificaciones de materia obtenidos de los horarios.
+ * Los destinatarios de una materia son los profesores de sus horarios, y las materias de un
+ * usuario son las de los horarios que dicta. Los horarios se obtienen recién al primer uso, para
+ * no cargarlos junto con las notificaciones.
+ *
+ * @description Funcionalidades principales:
+ *                  - Resolver materia → destinatarios a partir de los horarios de la materia.
+ *                  - Resolver usuario → materias a partir de sus horarios.
+ *
+ * @note Si los horarios no se pueden cargar, se informa por la salida de error y el resultado es vacío.
+ *
+ * @author KNOWLES
+ * @version 1.0
+ * @since 2026-10-18
+ * @see NewsController
+ */
+public final class ScheduleRecipients implements NewsController.MateriaRecipients {
+    private final Callable<? extends ISchedule> schedules;
+
+    /**
+     * @param schedules Proveedor del controlador de horarios, por ejemplo {@code registry::schedules}.
+     */
+    public ScheduleRecipients(Callable<? extends ISchedule> schedules) {
+        this.schedules = schedules;
+    }
+
+    @Override
+    public Set<String> recipients(String materiaId) {
+        Set<String> result = new LinkedHashSet<>();
+        try {
+            for (Schedule schedule : schedules.call().getSchedulesBySubject(materiaId)) {
+                if (schedule.getProfesorId() != null) result.add(schedule.getProfesorId());
+            }
+        } catch (Exception e) {
+            System.err.println("Error al obtener destinatarios de la materia: " + e.getMessage());
+        }
+        return result;
+    }
+
+    @Override
+    public Set<String> materias(String userId) {
+        Set<String> result = new LinkedHashSet<>();
+        try {
+            for (Schedule schedule : schedules.call().getSchedulesByProfesor(userId)) {
+                result.add(schedule.getSubjectId());
+            }
+        } catch (Exception e) {
+            System.err.println("Error al obtener materias del usuario: " + e.getMessage());
+        }
+        return result;
+    }
+}
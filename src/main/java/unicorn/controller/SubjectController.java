@@ -7,6 +7,7 @@ import unicorn.model.*;
 
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 /**
  * Controlador para la gestión de materias académicas.
  * Permite administrar las asignaturas, sus profesores y horarios asociados.
@@ -42,8 +43,7 @@ public class SubjectController implements ISubject {
     private void loadData() throws SubjectException {
         try {
             fileHandler.createFileIfNotExists(filePath);
-            List<Subject> loadedSubjects = fileHandler.loadData(filePath);
-            if (loadedSubjects != null) {
+            try (Stream<Subject> loadedSubjects = fileHandler.streamData(filePath)) {
                 loadedSubjects.forEach(s -> subjects.put(s.getId(), s));
             }
         } catch (Exception e) {
@@ -57,12 +57,25 @@ public class SubjectController implements ISubject {
      * @see #loadData() Método complementario para cargar datos.
      */
     private void saveData() throws SubjectException {
+        UnitOfWork.join(this, this::reload);
         try {
             fileHandler.saveData(new ArrayList<>(subjects.values()), filePath);
         } catch (Exception e) {
             throw new SubjectException("Error al guardar materias: " + e.getMessage());
         }
     }
+    /**
+     * Descarta los cambios en memoria recargando las materias desde el archivo.
+     * Se usa al revertir una {@link UnitOfWork}.
+     */
+    private void reload() {
+        subjects.clear();
+        try {
+            loadData();
+        } catch (SubjectException e) {
+            System.err.println(e.getMessage());
+        }
+    }
     /**
      * Registra una nueva materia en el sistema.
      * 
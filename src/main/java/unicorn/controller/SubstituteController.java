@@ -5,6 +5,7 @@ import unicorn.exceptions.SubstituteException;
 import unicorn.interfaces.IFile;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class SubstituteController {
     private final IFile<Substitute> fileHandler;
@@ -21,17 +22,12 @@ public class SubstituteController {
 
     public void createSubstitute(Substitute substitute) throws SubstituteException {
         try {
-            List<Substitute> substitutes = fileHandler.loadData(SUBSTITUTES_FILE);
-
             // Verificar que no exista sustitución activa para este docente
-            boolean exists = substitutes.stream()
-                    .anyMatch(s -> s.getOriginalTeacherId().equals(substitute.getOriginalTeacherId())
-                            && s.isCurrentlyActive());
-
-            if (exists) {
+            if (getActiveSubstituteForTeacher(substitute.getOriginalTeacherId()) != null) {
                 throw SubstituteException.activeSubstitutionExists();
             }
 
+            List<Substitute> substitutes = fileHandler.loadData(SUBSTITUTES_FILE);
             substitutes.add(substitute);
             fileHandler.saveData(substitutes, SUBSTITUTES_FILE);
         } catch (Exception e) {
@@ -45,9 +41,8 @@ public class SubstituteController {
      * @throws SubstituteException Si ocurre un error al leer los datos
      */
     public List<Substitute> getActiveSubstitutes() throws SubstituteException {
-        try {
-            return fileHandler.loadData(SUBSTITUTES_FILE)
-                    .stream()
+        try (Stream<Substitute> substitutes = fileHandler.streamData(SUBSTITUTES_FILE)) {
+            return substitutes
                     .filter(Substitute::isCurrentlyActive)
                     .collect(Collectors.toList());
         } catch (Exception e) {
@@ -62,9 +57,8 @@ public class SubstituteController {
      * @throws SubstituteException Si ocurre un error al leer los datos
      */
     public List<Substitute> getSubstitutesForTeacher(String teacherId) throws SubstituteException {
-        try {
-            return fileHandler.loadData(SUBSTITUTES_FILE)
-                    .stream()
+        try (Stream<Substitute> substitutes = fileHandler.streamData(SUBSTITUTES_FILE)) {
+            return substitutes
                     .filter(s -> s.getOriginalTeacherId().equals(teacherId))
                     .collect(Collectors.toList());
         } catch (Exception e) {
@@ -72,6 +66,23 @@ public class SubstituteController {
         }
     }
 
+    /**
+     * Obtiene la sustitución activa de un profesor, deteniendo la lectura en cuanto la encuentra
+     * @param teacherId ID del profesor
+     * @return La sustitución activa o null si no tiene
+     * @throws SubstituteException Si ocurre un error al leer los datos
+     */
+    public Substitute getActiveSubstituteForTeacher(String teacherId) throws SubstituteException {
+        try (Stream<Substitute> substitutes = fileHandler.streamData(SUBSTITUTES_FILE)) {
+            return substitutes
+                    .filter(s -> s.getOriginalTeacherId().equals(teacherId) && s.isCurrentlyActive())
+                    .findFirst()
+                    .orElse(null);
+        } catch (Exception e) {
+            throw SubstituteException.readError();
+        }
+    }
+
     /**
      * Finaliza una sustitución marcándola como completada
      * @param substituteId ID de la sustitución a finalizar
@@ -0,0 +1,362 @@
+package unicorn.controller;
+
+import unicorn.exceptions.FileException;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Unidad de trabajo (transacción) que agrupa los guardados de varios controladores.
+ * Mientras una unidad está activa en el hilo actual, los manejadores de archivos no escriben
+ * en disco: registran el contenido final de cada archivo y lo escriben una sola vez al confirmar.
+ *
+ * @description Funcionalidades principales:
+ *                  - Iniciar, confirmar y revertir una transacción ligada al hilo actual.
+ *                  - Guardar en memoria solo la última versión de cada archivo modificado.
+ *                  - Confirmar en dos fases: primero se escriben y sincronizan todos los temporales,
+ *                    luego se reemplazan los originales; si algo falla, se restauran los originales.
+ *                  - Registrar cada confirmación en un diario, para completarla o descartarla al iniciar
+ *                    si el proceso se interrumpió a mitad ({@link #recover()}).
+ *                  - Escribir cada archivo en el formato de su manejador (texto o binario).
+ *                  - Permitir que los controladores se unan para recargar su estado al revertir.
+ *
+ * Estados del diario de una confirmación:
+ * <pre>
+ *     PREPARE  Se están escribiendo los temporales: al recuperar se eliminan y los originales quedan intactos.
+ *     COMMIT   Todos los temporales están en disco: al recuperar se terminan de mover sobre los originales.
+ * </pre>
+ *
+ * Ejemplo de uso:
+ * <pre>
+ *     UnitOfWork uow = UnitOfWork.begin();
+ *     try {
+ *         subjectController.addSubject(subject);
+ *         roomController.addRoom(room);
+ *         uow.commit();
+ *     } finally {
+ *         if (uow.isActive()) uow.rollback();
+ *     }
+ * </pre>
+ *
+ * @author KNOWLES
+ * @version 1.0
+ * @since 2026-10-18
+ * @see FileHandler
+ * @see LogFileHandler
+ */
+public final class UnitOfWork {
+
+    private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+    private static final Path JOURNAL_DIR = Paths.get("src/main/java/unicorn/dto/uow");
+    private static final String PREPARE = "PREPARE";
+    private static final String COMMIT = "COMMIT";
+    private static boolean recovered;
+
+    /**
+     * Contenido de un archivo registrado, en el formato en que debe escribirse.
+     */
+    @FunctionalInterface
+    public interface Content {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    // Líneas para leer el archivo dentro de la unidad y bytes para escribirlo al confirmar
+    private record Staged(Supplier<List<String>> lines, Content content) {}
+
+    private final Map<String, Staged> staged = new LinkedHashMap<>();
+    private final Map<Object, Runnable> participants = new IdentityHashMap<>();
+    private final List<Runnable> commitActions = new ArrayList<>();
+    private boolean active = true;
+
+    private UnitOfWork() {}
+
+    /**
+     * Inicia una unidad de trabajo en el hilo actual.
+     *
+     * @return La unidad de trabajo iniciada.
+     * @throws IllegalStateException Si ya existe una unidad activa en este hilo.
+     */
+    public static UnitOfWork begin() {
+        if (CURRENT.get() != null) {
+            throw new IllegalStateException("Ya existe una unidad de trabajo activa en este hilo");
+        }
+        UnitOfWork uow = new UnitOfWork();
+        CURRENT.set(uow);
+        return uow;
+    }
+
+    /**
+     * @return La unidad de trabajo activa en el hilo actual, o null si no hay ninguna.
+     */
+    public static UnitOfWork current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Une un controlador a la unidad activa, si existe. Al revertir se ejecuta la acción indicada,
+     * normalmente una recarga desde disco para descartar los cambios en memoria.
+     * Unirse varias veces con el mismo participante no tiene efecto adicional.
+     *
+     * @param participant Controlador que participa en la transacción.
+     * @param onRollback Acción a ejecutar si la transacción se revierte.
+     */
+    public static void join(Object participant, Runnable onRollback) {
+        UnitOfWork uow = CURRENT.get();
+        if (uow != null) uow.participants.putIfAbsent(participant, onRollback);
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Registra el contenido final de un archivo. Un registro posterior para el mismo archivo
+     * reemplaza al anterior; el contenido se serializa recién al confirmar.
+     * Además de los manejadores de archivos, lo usan los cargadores para confirmar sus archivos de
+     * estado en la misma operación que los datos.
+     */
+    public void stage(String filePath, Supplier<List<String>> content) {
+        stage(filePath, content, out -> writeLines(out, content.get()));
+    }
+
+    /**
+     * Registra el contenido final de un archivo que no se escribe como texto.
+     *
+     * @param lines Contenido como líneas de texto, para leerlo dentro de la unidad.
+     * @param content Contenido tal como se escribe en disco al confirmar.
+     */
+    void stage(String filePath, Supplier<List<String>> lines, Content content) {
+        ensureActive();
+        staged.put(normalize(filePath), new Staged(lines, content));
+    }
+
+    /**
+     * @return El contenido pendiente del archivo, o null si no fue modificado en esta unidad.
+     */
+    List<String> stagedContent(String filePath) {
+        Staged content = staged.get(normalize(filePath));
+        return content != null ? content.lines().get() : null;
+    }
+
+    /**
+     * Registra una acción a ejecutar después de escribir los archivos con éxito, por ejemplo una
+     * escritura que no participa de la unidad y no debe ocurrir si se revierte. Las acciones no se
+     * ejecutan tras un rollback y no deben lanzar excepciones: los archivos ya están confirmados.
+     */
+    public void afterCommit(Runnable action) {
+        ensureActive();
+        commitActions.add(action);
+    }
+
+    /**
+     * Escribe todos los archivos modificados como una sola operación de todo o nada.
+     *
+     * @throws FileException Si no se pudo escribir algún archivo; en ese caso se revierte la unidad.
+     */
+    public void commit() throws FileException {
+        ensureActive();
+        Map<Path, Path> temps = new LinkedHashMap<>();
+        for (String target : staged.keySet()) {
+            Path path = Paths.get(target);
+            temps.put(path, tempOf(path));
+        }
+        Path journal = JOURNAL_DIR.resolve(UUID.randomUUID() + ".journal");
+        try {
+            writeJournal(journal, PREPARE, temps.keySet());
+            // Fase 1: escribir y sincronizar todos los temporales
+            for (Map.Entry<String, Staged> entry : staged.entrySet()) {
+                writeAndForce(tempOf(Paths.get(entry.getKey())), entry.getValue().content());
+            }
+            // A partir de aquí la confirmación está decidida: tras una caída se completa al recuperar
+            writeJournal(journal, COMMIT, temps.keySet());
+            // Fase 2: reemplazar los originales
+            publish(temps);
+        } catch (IOException | RuntimeException e) {
+            for (Path temp : temps.values()) deleteQuietly(temp);
+            deleteQuietly(journal);
+            rollback();
+            throw new FileException("Error al confirmar la unidad de trabajo: " + e.getMessage());
+        }
+        deleteQuietly(journal);
+        finish();
+        commitActions.forEach(Runnable::run);
+    }
+
+    /**
+     * Completa o descarta las confirmaciones que quedaron a medias por una caída del proceso.
+     * Las que alcanzaron el estado COMMIT se terminan de publicar; las que seguían en PREPARE se
+     * descartan. Se ejecuta una sola vez por proceso, al crear el primer manejador de archivos.
+     */
+    public static synchronized void recover() {
+        if (recovered) return;
+        recovered = true;
+        if (!Files.isDirectory(JOURNAL_DIR)) return;
+
+        List<Path> journals;
+        try (Stream<Path> files = Files.list(JOURNAL_DIR)) {
+            journals = files.filter(f -> f.getFileName().toString().endsWith(".journal")).toList();
+        } catch (IOException e) {
+            System.err.println("No se pudo leer el diario de unidades de trabajo: " + e.getMessage());
+            return;
+        }
+        for (Path journal : journals) {
+            try {
+                List<String> lines = Files.readAllLines(journal, Charset.defaultCharset());
+                boolean complete = !lines.isEmpty() && COMMIT.equals(lines.get(0));
+                for (String line : lines.subList(Math.min(1, lines.size()), lines.size())) {
+                    Path target = Paths.get(line);
+                    Path temp = tempOf(target);
+                    if (complete && Files.exists(temp)) {
+                        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    } else {
+                        deleteQuietly(temp);
+                    }
+                    deleteQuietly(backupOf(target));
+                }
+                Files.delete(journal);
+            } catch (IOException e) {
+                System.err.println("No se pudo recuperar " + journal + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Descarta los cambios pendientes y pide a los controladores participantes que recarguen su estado.
+     */
+    public void rollback() {
+        ensureActive();
+        finish();
+        for (Runnable action : participants.values()) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                System.err.println("Error al revertir la unidad de trabajo: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return Los archivos modificados en esta unidad.
+     */
+    public Set<String> getStagedFiles() {
+        return Collections.unmodifiableSet(staged.keySet());
+    }
+
+    // Cada temporal reemplaza a su original en un solo renombrado atómico, así el archivo nunca
+    // falta; la copia de respaldo solo sirve para deshacer si un renombrado posterior falla
+    private void publish(Map<Path, Path> temps) throws IOException {
+        Map<Path, Path> backups = new LinkedHashMap<>();
+        List<Path> published = new ArrayList<>();
+        try {
+            for (Map.Entry<Path, Path> entry : temps.entrySet()) {
+                Path target = entry.getKey();
+                if (Files.exists(target)) {
+                    Path backup = backupOf(target);
+                    Files.copy(target, backup, StandardCopyOption.REPLACE_EXISTING);
+                    backups.put(target, backup);
+                }
+                Files.move(entry.getValue(), target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                published.add(target);
+            }
+        } catch (IOException e) {
+            // Restaurar los originales de los archivos ya reemplazados
+            for (Map.Entry<Path, Path> backup : backups.entrySet()) {
+                if (!published.contains(backup.getKey())) {
+                    deleteQuietly(backup.getValue());
+                    continue;
+                }
+                try {
+                    Files.move(backup.getValue(), backup.getKey(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException restoreError) {
+                    System.err.println("No se pudo restaurar " + backup.getKey() + ": " + restoreError.getMessage());
+                }
+            }
+            for (Path target : published) {
+                if (!backups.containsKey(target)) deleteQuietly(target);
+            }
+            throw e;
+        }
+        for (Path backup : backups.values()) deleteQuietly(backup);
+    }
+
+    // El diario se reemplaza de forma atómica, así siempre tiene un estado completo
+    private static void writeJournal(Path journal, String state, Set<Path> targets) throws IOException {
+        List<String> lines = new ArrayList<>(targets.size() + 1);
+        lines.add(state);
+        for (Path target : targets) lines.add(target.toString());
+        Path temp = journal.resolveSibling(journal.getFileName() + ".tmp");
+        writeAndForce(temp, out -> writeLines(out, lines));
+        Files.move(temp, journal, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeAndForce(Path temp, Content content) throws IOException {
+        if (temp.getParent() != null) Files.createDirectories(temp.getParent());
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+            content.writeTo(out);
+            out.flush();
+            channel.force(true);
+        }
+    }
+
+    private static void writeLines(OutputStream out, List<String> lines) throws IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, Charset.defaultCharset()));
+        for (String line : lines) {
+            writer.write(line);
+            writer.newLine();
+        }
+        writer.flush();
+    }
+
+    private static Path tempOf(Path target) {
+        return target.resolveSibling(target.getFileName() + ".uow");
+    }
+
+    private static Path backupOf(Path target) {
+        return target.resolveSibling(target.getFileName() + ".bak");
+    }
+
+    private void finish() {
+        active = false;
+        staged.clear();
+        CURRENT.remove();
+    }
+
+    private void ensureActive() {
+        if (!active) throw new IllegalStateException("La unidad de trabajo ya fue confirmada o revertida");
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            System.err.println("No se pudo eliminar " + path + ": " + e.getMessage());
+        }
+    }
+
+    private static String normalize(String filePath) {
+        return Paths.get(filePath).toAbsolutePath().normalize().toString();
+    }
+}
@@ -1,8 +1,31 @@
 package unicorn.exceptions;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
 public class ScheduleException extends Exception {
+    private final List<String> conflictingScheduleIds;
+
     public ScheduleException(String message) {
+        this(message, Collections.emptyList());
+    }
+
+    private ScheduleException(String message, List<String> conflictingScheduleIds) {
         super(message);
+        this.conflictingScheduleIds = conflictingScheduleIds;
+    }
+
+    // IDs de los horarios con los que se produjo el conflicto (vacía si no aplica)
+    public List<String> getConflictingScheduleIds() {
+        return conflictingScheduleIds;
+    }
+
+    // Por si el profesor ya dicta otro horario en ese momento
+    public static ScheduleException professorConflict(Collection<String> scheduleIds) {
+        return new ScheduleException(
+                "El profesor ya tiene asignado otro horario en ese momento: " + String.join(", ", scheduleIds),
+                List.copyOf(scheduleIds));
     }
 
     // Sugerencia: por si el horario no existe
@@ -6,6 +6,7 @@ import unicorn.model.Account;
 import unicorn.exceptions.AccountException;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -47,6 +48,16 @@ public interface IAccount {
      */
     void registerAccount(Account account) throws AccountException;
 
+    /**
+     * Registra varias cuentas en lote, guardando una sola vez.
+     * Los candidatos cuyo nombre de usuario ya existe (o se repite en el lote) se omiten.
+     *
+     * @param candidates Cuentas a registrar.
+     * @return Las cuentas nuevas registradas.
+     * @throws AccountException Si algún candidato es inválido; en ese caso no se registra ninguno.
+     */
+    List<Account> registerAccounts(Collection<Account> candidates) throws AccountException;
+
     /**
      * Valida las credenciales de una cuenta.
      *                  La validación de la contraseña se realiza mediante PasswordUtil.verifyPassword
@@ -2,6 +2,7 @@ package unicorn.interfaces;
 
 import unicorn.exceptions.FileException;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Interfaz genérica para la gestión de archivos.
@@ -11,9 +12,11 @@ import java.util.List;
  * @description Funcionalidades principales:
  *                   - Guardar colecciones de datos en archivos.
  *                   - Cargar datos desde archivos.
+ *                   - Recorrer datos de forma perezosa sin materializar el archivo completo.
  *                   - Agregar datos a archivos existentes.
  *                   - Verificar existencia de archivos.
  *                   - Crear archivos si no existen.
+ *                   - Informar la cantidad de bytes escritos en disco.
  * 
  * Ejemplo de uso:
  * <pre>
@@ -51,6 +54,21 @@ public interface IFile<T> {
      * @throws FileException Si ocurre un error al leer el archivo.
      */
     List<T> loadData(String filePath) throws FileException;
+
+    /**
+     * Recorre los datos de un archivo de forma perezosa.
+     *                      Los registros se deserializan a medida que se consumen, por lo que operaciones
+     *                      como findFirst o anyMatch terminan la lectura en cuanto encuentran un resultado.
+     *                      El stream mantiene el archivo abierto y debe cerrarse (try-with-resources).
+     *                      Un error de lectura durante el recorrido se propaga como UncheckedIOException.
+     *
+     * @param filePath Ruta del archivo.
+     * @return Stream de los datos del archivo (vacío si el archivo no existe).
+     * @throws FileException Si ocurre un error al abrir el archivo.
+     */
+    default Stream<T> streamData(String filePath) throws FileException {
+        return loadData(filePath).stream();
+    }
     
     /**
      * Agrega un dato al final del archivo.
@@ -81,4 +99,15 @@ public interface IFile<T> {
      * @throws FileException Si ocurre un error al crear el archivo.
      */
     void createFileIfNotExists(String filePath) throws FileException;
+
+    /**
+     * Obtiene la cantidad total de bytes que este manejador escribió en disco.
+     *                      Permite comparar el volumen de escritura entre distintas estrategias de guardado.
+     *                      Las escrituras diferidas se cuentan cuando llegan efectivamente al disco.
+     *
+     * @return Bytes escritos desde que se creó el manejador (0 si la implementación no los contabiliza).
+     */
+    default long getBytesWritten() {
+        return 0;
+    }
 }
\ No newline at end of file
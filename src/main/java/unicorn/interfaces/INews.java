@@ -69,6 +69,15 @@ public interface INews {
      */
     List<News> getAllNewsByUser(String userId);
 
+    /**
+     * Obtiene las notificaciones más recientes de un usuario (propias y globales).
+     * El costo depende de la cantidad pedida y no del total de notificaciones.
+     * @param userId ID del usuario
+     * @param limit Cantidad máxima de notificaciones
+     * @return Lista de notificaciones ordenadas por fecha (más reciente primero)
+     */
+    List<News> getLatestNewsByUser(String userId, int limit);
+
     /**
      * Obtiene todas las notificaciones globales.
      * @return Lista de notificaciones ordenadas por fecha (más reciente primero)
@@ -76,12 +85,28 @@ public interface INews {
     List<News> getGlobalNews();
 
     /**
-     * Marca una notificación como leída.
+     * Marca una notificación como leída para el usuario actual.
      * @param newsId ID de la notificación
      * @throws NewsException Si la notificación no existe
      */
     void markAsRead(String newsId) throws NewsException;
 
+    /**
+     * Marca una notificación como leída solo para un usuario; las globales siguen sin leer para los demás.
+     * @param newsId ID de la notificación
+     * @param userId ID del usuario que la leyó
+     * @throws NewsException Si la notificación no existe o no se pudo guardar la lectura
+     */
+    void markAsRead(String newsId, String userId) throws NewsException;
+
+    /**
+     * Indica si un usuario ya leyó una notificación.
+     * @param news Notificación
+     * @param userId ID del usuario
+     * @return true si la leyó
+     */
+    boolean isRead(News news, String userId);
+
     /**
      * Elimina una notificación del sistema.
      * @param newsId ID de la notificación
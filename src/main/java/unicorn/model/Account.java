@@ -14,6 +14,9 @@ import java.util.stream.Collectors;
  * nombre de usuario, contraseña y rol (estudiante, profesor y administrador).
  */
 public class Account extends Base<Account> {
+    private static final TipoCuenta[] TIPOS = TipoCuenta.values();
+    private static final AccountStatus[] ESTADOS = AccountStatus.values();
+
     private String id;
     private String nombre;
     private String apellido;
@@ -236,7 +239,7 @@ public class Account extends Base<Account> {
 
     @Override
     public Account fromFile(String line) {
-        String[] parts = line.split("\\|");
+        String[] parts = splitFields(line);
         if (parts.length != 13) {
             throw new IllegalArgumentException("Formato de línea inválido");
         }
@@ -271,6 +274,50 @@ public class Account extends Base<Account> {
         return account;
     }
 
+    @Override
+    public void writeRecord(RecordOutput out) {
+        out.writeId(id);
+        out.writeString(nombre);
+        out.writeString(apellido);
+        out.writeString(phone);
+        out.writeString(email);
+        out.writeString(user);
+        out.writeString(hashedPassword);
+        out.writeEnum(tipoCuenta);
+        out.writeId(substituteId);
+        out.writeString(alternateEmail);
+        out.writeEnum(status);
+        out.writeBoolean(requiereCambioPassword);
+        out.writeVarLong(roleHistory.size());
+        for (RoleHistory rh : roleHistory) {
+            out.writeEnum(rh.getRole());
+            out.writeDate(rh.getStartDate());
+            out.writeDate(rh.getEndDate());
+        }
+    }
+
+    @Override
+    public Account readRecord(RecordInput in, int schemaVersion) {
+        Account account = new Account();
+        account.id = in.readId();
+        account.nombre = in.readString();
+        account.apellido = in.readString();
+        account.phone = in.readString();
+        account.email = in.readString();
+        account.user = in.readString();
+        account.hashedPassword = in.readString();
+        account.tipoCuenta = in.readEnum(TIPOS);
+        account.substituteId = in.readId();
+        account.alternateEmail = in.readString();
+        account.status = in.readEnum(ESTADOS);
+        account.requiereCambioPassword = in.readBoolean();
+        long roles = in.readVarLong();
+        for (long i = 0; i < roles; i++) {
+            account.roleHistory.add(new RoleHistory(in.readEnum(TIPOS), in.readDate(), in.readDate()));
+        }
+        return account;
+    }
+
     @Override
     public String getInfo() {
         return String.format(
@@ -1,7 +1,13 @@
 package unicorn.model;
 
+import unicorn.util.RecordFields;
+import unicorn.util.RecordInput;
+import unicorn.util.RecordOutput;
+
 import java.io.Serializable;
 import java.lang.ModuleLayer.Controller;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -12,6 +18,8 @@ import java.util.Objects;
  * @description Funcionalidades principales:
  *                   - Serializar objetos a formato de texto para almacenamiento.
  *                   - Deserializar texto a objetos del modelo.
+ *                   - Deserializar registros directamente desde los bytes del archivo, sin decodificarlos a texto.
+ *                   - Serializar y deserializar en formato binario compacto, con versión de esquema.
  *                   - Generar información legible para presentación.
  *                   - Implementación genérica de equals y hashCode basada en ID.
  *                   - Gestión de identificadores únicos para objetos del modelo.
@@ -33,10 +41,11 @@ public abstract class Base<T> implements Serializable {
     /**
      * Obtiene el identificador único del objeto.
      * Las clases hijas deben implementar este método para proporcionar su ID.
+     * Es público para que los manejadores de archivos puedan indexar registros por ID.
      *
      * @return El identificador único del objeto
      */
-    protected abstract String getId();
+    public abstract String getId();
 
     /**
      * Compara este objeto con otro objeto para determinar si son iguales.
@@ -67,14 +76,41 @@ public abstract class Base<T> implements Serializable {
 
     /**
      * Escapa los caracteres especiales en una cadena para su uso en serialización.
-     * Reemplaza el carácter '|' por '\|' para evitar conflictos en la representación de texto.
+     * Reemplaza el carácter '\' por '\\' y '|' por '\|' para evitar conflictos en la representación de texto.
      * Si el valor es null, devuelve "null" como cadena.
      *
      * @param value La cadena a escapar
      * @return La cadena escapada o "null" si el valor es null
+     * @see #splitFields(String)
      */
     protected String escapeForSerialization(String value) {
-        return value != null ? value.replace("|", "\\|") : "null";
+        return value != null ? value.replace("\\", "\\\\").replace("|", "\\|") : "null";
+    }
+
+    /**
+     * Divide una línea serializada en sus campos separados por '|', respetando y eliminando
+     * los escapes generados por {@link #escapeForSerialization(String)}.
+     * A diferencia de String.split, conserva los campos vacíos al final de la línea.
+     *
+     * @param line La línea serializada
+     * @return Los campos de la línea sin escapes
+     */
+    protected static String[] splitFields(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\\' && i + 1 < line.length() && (line.charAt(i + 1) == '|' || line.charAt(i + 1) == '\\')) {
+                current.append(line.charAt(++i));
+            } else if (c == '|') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields.toArray(new String[0]);
     }
 
     /**
@@ -92,6 +128,56 @@ public abstract class Base<T> implements Serializable {
      */
     public abstract T fromFile(String line);
 
+    /**
+     * Versión del esquema binario del modelo. Se guarda en la cabecera de los archivos binarios
+     * y se entrega a {@link #readRecord(RecordInput, int)} para poder leer archivos de versiones anteriores.
+     * Debe incrementarse cada vez que cambian los campos que escribe {@link #writeRecord(RecordOutput)}.
+     *
+     * @return La versión actual del esquema
+     */
+    public int schemaVersion() {
+        return 1;
+    }
+
+    /**
+     * Serializa el objeto en formato binario.
+     *
+     * @param out Escritor donde se agregan los campos del registro
+     */
+    public abstract void writeRecord(RecordOutput out);
+
+    /**
+     * Deserializa un registro en formato binario.
+     *
+     * @param in Lector posicionado al inicio del registro
+     * @param schemaVersion Versión del esquema con la que se escribió el archivo
+     * @return Objeto del tipo T reconstruido a partir del registro
+     */
+    public abstract T readRecord(RecordInput in, int schemaVersion);
+
+    /**
+     * Separador de campos usado por {@link #toFile()}.
+     * Permite que los lectores de archivos ubiquen los campos sin decodificar la línea completa.
+     *
+     * @return El carácter separador de campos
+     */
+    public char fieldSeparator() {
+        return '|';
+    }
+
+    /**
+     * Deserializa un registro a partir de sus campos sin decodificar.
+     * Por defecto decodifica la línea completa y delega en {@link #fromFile(String)}; los modelos
+     * con archivos grandes lo sobrescriben para convertir solo los campos que necesitan.
+     * No se debe guardar la referencia a fields, ya que se reutiliza para el siguiente registro.
+     *
+     * @param fields Campos del registro, separados por {@link #fieldSeparator()}
+     * @return Objeto del tipo T reconstruido a partir de los campos
+     */
+    public T fromFields(RecordFields fields) {
+        return fromFile(fields.line());
+    }
+
     /**
      * Genera una representación legible del objeto para presentación.
      * 
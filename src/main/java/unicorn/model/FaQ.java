@@ -1,5 +1,8 @@
 package unicorn.model;
 
+import unicorn.util.RecordInput;
+import unicorn.util.RecordOutput;
+
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.UUID;
@@ -156,14 +159,14 @@ public class FaQ extends Base<FaQ> {
 
     @Override
     public FaQ fromFile(String line) {
-        String[] parts = line.split("\\|");
+        String[] parts = splitFields(line);
         FaQ faq = new FaQ();
         faq.id = parts[0];
         faq.pregunta = parts[1];
         faq.respuesta = parts[2];
         faq.pendiente = Boolean.parseBoolean(parts[3]);
         // Responder ID: Puede quedar null si no hay valor
-        faq.responderID = (parts.length > 4 && parts[4] != null && !parts[4].trim().isEmpty()) 
+        faq.responderID = (parts.length > 4 && !parts[4].trim().isEmpty() && !"null".equals(parts[4])) 
                             ? parts[4] 
                             : null;
 
@@ -174,6 +177,28 @@ public class FaQ extends Base<FaQ> {
         return faq;
     }
 
+    @Override
+    public void writeRecord(RecordOutput out) {
+        out.writeId(id);
+        out.writeString(pregunta);
+        out.writeString(respuesta);
+        out.writeBoolean(pendiente);
+        out.writeId(responderID);
+        out.writeDateTime(fechaRespuesta);
+    }
+
+    @Override
+    public FaQ readRecord(RecordInput in, int schemaVersion) {
+        FaQ faq = new FaQ();
+        faq.id = in.readId();
+        faq.pregunta = in.readString();
+        faq.respuesta = in.readString();
+        faq.pendiente = in.readBoolean();
+        faq.responderID = in.readId();
+        faq.fechaRespuesta = in.readDateTime();
+        return faq;
+    }
+
     @Override
     public String getInfo() {
         return String.format("P: %s\nR: %s", pregunta, respuesta);
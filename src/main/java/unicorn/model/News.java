@@ -22,6 +22,8 @@ import java.time.format.DateTimeFormatter;
  * @see Base
  */
 public class News extends Base<News> {
+    private static final TipoNews[] TIPOS = TipoNews.values();
+
     private String id;
     private String mensaje;
     private LocalDateTime fecha;
@@ -107,7 +109,7 @@ public class News extends Base<News> {
     public String toFile() {
         return String.join("|",
                 id,
-                mensaje,
+                escapeForSerialization(mensaje),
                 fecha.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME),
                 String.valueOf(leida),
                 tipoNotificacion.name(),
@@ -118,7 +120,7 @@ public class News extends Base<News> {
 
     @Override
     public News fromFile(String line) {
-        String[] parts = line.split("\\|");
+        String[] parts = splitFields(line);
         if (parts.length != 7) {
             throw new IllegalArgumentException("Formato de línea inválido. Se esperaban 7 partes, se encontraron: " + parts.length);
         }
@@ -135,6 +137,48 @@ public class News extends Base<News> {
         return notification;
     }
 
+    @Override
+    public News fromFields(RecordFields fields) {
+        if (fields.count() != 7) {
+            throw new IllegalArgumentException("Formato de línea inválido. Se esperaban 7 partes, se encontraron: " + fields.count());
+        }
+
+        News notification = new News();
+        notification.id = fields.get(0);
+        notification.mensaje = fields.get(1);
+        notification.fecha = fields.getDateTime(2);
+        notification.leida = fields.getBoolean(3);
+        notification.tipoNotificacion = fields.getEnum(4, TIPOS);
+        notification.destinatarioId = fields.matches(5, "ALL") ? null : fields.get(5);
+        notification.senderId = fields.matches(6, "SYSTEM") ? null : fields.get(6);
+
+        return notification;
+    }
+
+    @Override
+    public void writeRecord(RecordOutput out) {
+        out.writeId(id);
+        out.writeString(mensaje);
+        out.writeDateTime(fecha);
+        out.writeBoolean(leida);
+        out.writeEnum(tipoNotificacion);
+        out.writeId(destinatarioId);
+        out.writeId(senderId);
+    }
+
+    @Override
+    public News readRecord(RecordInput in, int schemaVersion) {
+        News notification = new News();
+        notification.id = in.readId();
+        notification.mensaje = in.readString();
+        notification.fecha = in.readDateTime();
+        notification.leida = in.readBoolean();
+        notification.tipoNotificacion = in.readEnum(TIPOS);
+        notification.destinatarioId = in.readId();
+        notification.senderId = in.readId();
+        return notification;
+    }
+
     @Override
     public String getInfo() {
         return String.format(
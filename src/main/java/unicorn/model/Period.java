@@ -2,9 +2,14 @@ package unicorn.model;
 
 import java.time.DayOfWeek;
 import java.time.LocalTime;
+import unicorn.util.RecordFields;
+import unicorn.util.RecordInput;
+import unicorn.util.RecordOutput;
 //import java.util.Objects;
 
 public final class Period extends Base<Period>{
+    private static final DayOfWeek[] DAYS = DayOfWeek.values();
+
     private final String id;
     private final DayOfWeek day;
     private final LocalTime start;
@@ -105,6 +110,43 @@ public final class Period extends Base<Period>{
                 .build();
     }
 
+    @Override
+    public char fieldSeparator() {
+        return ',';
+    }
+
+    @Override
+    public Period fromFields(RecordFields fields) {
+        return new Period.Builder()
+                .withId(fields.get(0))
+                .withDay(fields.getEnum(1, DAYS))
+                .withTimeRange(fields.getTime(2), fields.getTime(3))
+                .forSubject(fields.get(4))
+                .inRoom(fields.get(5))
+                .build();
+    }
+
+    @Override
+    public void writeRecord(RecordOutput out) {
+        out.writeId(id);
+        out.writeEnum(day);
+        out.writeTime(start);
+        out.writeTime(end);
+        out.writeId(subjectId);
+        out.writeId(roomId);
+    }
+
+    @Override
+    public Period readRecord(RecordInput in, int schemaVersion) {
+        return new Period.Builder()
+                .withId(in.readId())
+                .withDay(in.readEnum(DAYS))
+                .withTimeRange(in.readTime(), in.readTime())
+                .forSubject(in.readId())
+                .inRoom(in.readId())
+                .build();
+    }
+
     public String getInfo() {
         return String.format("Periodo: %s\nDía: %s\nHora Inicio: %s\nHora Fin: %s\nMateria: %s\nAula: %s",
                 id, day, start, end, subjectId, roomId);
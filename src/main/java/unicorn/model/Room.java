@@ -1,5 +1,7 @@
 package unicorn.model;
 
+import unicorn.util.RecordInput;
+import unicorn.util.RecordOutput;
 import unicorn.util.TipoRoom;
 import java.util.UUID;
 /**
@@ -20,6 +22,8 @@ import java.util.UUID;
  */
 
 public class Room extends Base<Room> {
+    private static final TipoRoom[] TIPOS = TipoRoom.values();
+
     private String id;
     private String nombre;      // Formato: "692A" (Bloque 6, Edificio 9, Piso 2, Aula A)
     private char disponible;    // 'L': Libre, 'O': Ocupado, 'M': Mantenimiento
@@ -224,6 +228,29 @@ public class Room extends Base<Room> {
         return room;
     }
 
+    @Override
+    public void writeRecord(RecordOutput out) {
+        out.writeId(id);
+        out.writeString(nombre);
+        out.writeEnum(tipo);
+        out.writeInt(capacidad);
+        out.writeChar(disponible);
+        out.writeBoolean(tieneProyector);
+    }
+
+    @Override
+    public Room readRecord(RecordInput in, int schemaVersion) {
+        String roomId = in.readId();
+        String roomName = in.readString();
+        TipoRoom roomType = in.readEnum(TIPOS);
+        int roomCapacity = in.readInt();
+        char roomState = in.readChar();
+        Room room = new Room(roomName, roomType, roomCapacity, in.readBoolean());
+        room.id = roomId;
+        room.disponible = roomState;
+        return room;
+    }
+
     @Override
     public String getInfo() {
         String estadoStr = switch(disponible) {
@@ -1,17 +1,49 @@
 package unicorn.model;
 
+import unicorn.util.RecordFields;
+import unicorn.util.RecordInput;
+import unicorn.util.RecordOutput;
+
 import java.util.*;
+import java.util.function.Function;
 
+/**
+ * Horario de una materia y grupo dictado por un profesor.
+ * El horario guarda solo los IDs de sus periodos; los periodos se guardan una única vez en
+ * periods.txt y se obtienen al consultarlos a través del repositorio de periodos asignado con
+ * {@link #resolvePeriodsWith(Function)}, por lo que editar un periodo no requiere reescribir el horario.
+ *
+ * @description Funcionalidades principales:
+ *                   - Guardar los datos del horario y las referencias a sus periodos.
+ *                   - Resolver los periodos bajo demanda desde el repositorio compartido.
+ *                   - Leer el formato anterior, que incluía los periodos completos en cada línea.
+ *
+ * Formato de texto (versión 2):
+ * <pre>
+ *     id|profesorId|subjectId|grupo|clasType|idPeriodo1,idPeriodo2,...
+ * </pre>
+ *
+ * @author KNOWLES
+ * @version 2.0
+ * @since 2025-04-29
+ * @see Period
+ */
 public class Schedule extends Base<Schedule> {
+    private static final int SCHEMA_VERSION = 2;
+
     private String id;
     private String profesorId;
     private String subjectId;
     private String grupo;
     private String clasType;
+    private List<String> periodIds;
+    // Periodos asignados en memoria o leídos del formato anterior; se usan mientras no haya repositorio
     private List<Period> periods;
+    private transient Function<String, Period> periodResolver;
 
     public Schedule() {
         this.id = UUID.randomUUID().toString();
+        this.periodIds = new ArrayList<>();
         this.periods = new ArrayList<>();
     }
 
@@ -21,7 +53,7 @@ public class Schedule extends Base<Schedule> {
         this.subjectId = subjectId;
         this.grupo = grupo;
         this.clasType = clasType;
-        if (periods != null) this.periods = periods;
+        if (periods != null) setPeriods(periods);
     }
 
     // Getters y setters
@@ -30,38 +62,161 @@ public class Schedule extends Base<Schedule> {
     public String getProfesorId() { return profesorId; }
     public String getSubjectId() { return subjectId; }
     public String getGrupo() { return grupo; }
-    public List<Period> getPeriods() { return periods; }
+    public List<String> getPeriodIds() { return Collections.unmodifiableList(periodIds); }
     public String getClasType() { return clasType; }
 
+    /**
+     * Obtiene los periodos del horario. Con un repositorio asignado se resuelven en cada llamada,
+     * de modo que reflejan las ediciones hechas en él; los IDs que ya no existen se omiten.
+     */
+    public List<Period> getPeriods() {
+        if (periodResolver == null) return periods;
+        List<Period> resolved = new ArrayList<>(periodIds.size());
+        for (String periodId : periodIds) {
+            Period period = periodResolver.apply(periodId);
+            if (period != null) resolved.add(period);
+        }
+        return resolved;
+    }
+
+    /**
+     * Periodos guardados dentro del propio horario: los asignados con {@link #setPeriods(List)} o los
+     * leídos de un archivo con el formato anterior. Sirve para registrarlos en el repositorio de periodos.
+     */
+    public List<Period> getEmbeddedPeriods() {
+        return Collections.unmodifiableList(periods);
+    }
+
+    /**
+     * Asigna el repositorio desde el que se resuelven los periodos por ID.
+     *
+     * @param resolver Función que devuelve el periodo con el ID dado, o null si no existe.
+     */
+    public void resolvePeriodsWith(Function<String, Period> resolver) {
+        this.periodResolver = resolver;
+    }
+
     public void setProfesorId(String profesorId) { this.profesorId = profesorId; }
     public void setSubjectId(String subjectId) { this.subjectId = subjectId; }
     public void setGrupo(String grupo) { this.grupo = grupo; }
-    public void setPeriods(List<Period> periods) { this.periods = periods; }
     public void setClasType(String clasType) { this.clasType = clasType; }
 
-    // Serialización simple (ajusta según tu persistencia)
+    public void setPeriods(List<Period> periods) {
+        this.periods = periods != null ? periods : new ArrayList<>();
+        this.periodIds = new ArrayList<>(this.periods.size());
+        for (Period period : this.periods) {
+            periodIds.add(period.getId());
+        }
+    }
+
+    @Override
+    public int schemaVersion() {
+        return SCHEMA_VERSION;
+    }
+
     @Override
     public String toFile() {
-        StringBuilder sb = new StringBuilder();
-        sb.append(String.join("|", id, profesorId, subjectId, grupo));
-        for (Period p : periods) {
-            sb.append("|").append(p.toFile());
-        }
-        return sb.toString();
+        return String.join("|", id, profesorId, subjectId,
+                escapeForSerialization(grupo), escapeForSerialization(clasType), String.join(",", periodIds));
     }
 
     @Override
     public Schedule fromFile(String line) {
-        String[] parts = line.split("\\|");
+        String[] parts = splitFields(line);
         Schedule schedule = new Schedule();
         schedule.id = parts[0];
         schedule.profesorId = parts[1];
         schedule.subjectId = parts[2];
         schedule.grupo = parts[3];
-        schedule.periods = new ArrayList<>();
-        for (int i = 4; i < parts.length; i++) {
-            Period period = new Period.Builder().build().fromFile(parts[i]);
-            schedule.periods.add(period);
+        if (isCurrentLayout(parts.length, parts.length > 4 ? parts[4] : null)) {
+            schedule.clasType = nullable(parts[4]);
+            schedule.periodIds = splitIds(parts[5]);
+        } else {
+            // Formato anterior: cada campo desde el quinto es un periodo completo
+            List<Period> inline = new ArrayList<>();
+            Period parser = new Period.Builder().build();
+            for (int i = 4; i < parts.length; i++) {
+                inline.add(parser.fromFile(parts[i]));
+            }
+            schedule.setPeriods(inline);
+        }
+        return schedule;
+    }
+
+    @Override
+    public Schedule fromFields(RecordFields fields) {
+        Schedule schedule = new Schedule();
+        schedule.id = fields.get(0);
+        schedule.profesorId = fields.get(1);
+        schedule.subjectId = fields.get(2);
+        schedule.grupo = fields.get(3);
+        if (isCurrentLayout(fields.count(), fields.count() > 4 ? fields.get(4) : null)) {
+            schedule.clasType = nullable(fields.get(4));
+            schedule.periodIds = splitIds(fields.get(5));
+        } else {
+            List<Period> inline = new ArrayList<>();
+            Period parser = new Period.Builder().build();
+            for (int i = 4; i < fields.count(); i++) {
+                inline.add(parser.fromFile(fields.get(i)));
+            }
+            schedule.setPeriods(inline);
+        }
+        return schedule;
+    }
+
+    // El formato actual tiene exactamente 6 campos y el quinto (tipo de clase) no es un periodo
+    private static boolean isCurrentLayout(int fieldCount, String fifthField) {
+        return fieldCount == 6 && fifthField.indexOf(',') < 0;
+    }
+
+    private static String nullable(String value) {
+        return "null".equals(value) ? null : value;
+    }
+
+    private static List<String> splitIds(String joined) {
+        List<String> ids = new ArrayList<>();
+        if (joined.isEmpty()) return ids;
+        for (String periodId : joined.split(",")) {
+            if (!periodId.isEmpty()) ids.add(periodId);
+        }
+        return ids;
+    }
+
+    @Override
+    public void writeRecord(RecordOutput out) {
+        out.writeId(id);
+        out.writeId(profesorId);
+        out.writeId(subjectId);
+        out.writeString(grupo);
+        out.writeString(clasType);
+        out.writeVarLong(periodIds.size());
+        for (String periodId : periodIds) {
+            out.writeId(periodId);
+        }
+    }
+
+    @Override
+    public Schedule readRecord(RecordInput in, int schemaVersion) {
+        Schedule schedule = new Schedule();
+        schedule.id = in.readId();
+        schedule.profesorId = in.readId();
+        schedule.subjectId = in.readId();
+        schedule.grupo = in.readString();
+        if (schemaVersion < 2) {
+            // Versión 1: sin tipo de clase y con los periodos completos
+            List<Period> inline = new ArrayList<>();
+            Period parser = new Period.Builder().build();
+            long count = in.readVarLong();
+            for (long i = 0; i < count; i++) {
+                inline.add(parser.readRecord(in, schemaVersion));
+            }
+            schedule.setPeriods(inline);
+            return schedule;
+        }
+        schedule.clasType = in.readString();
+        long count = in.readVarLong();
+        for (long i = 0; i < count; i++) {
+            schedule.periodIds.add(in.readId());
         }
         return schedule;
     }
@@ -69,6 +224,6 @@ public class Schedule extends Base<Schedule> {
     @Override
     public String getInfo() {
         return String.format("Horario: %s | Profesor: %s | Materia: %s | Grupo: %s | Periodos: %d",
-                id, profesorId, subjectId, grupo, periods.size());
+                id, profesorId, subjectId, grupo, periodIds.size());
     }
-}
\ No newline at end of file
+}
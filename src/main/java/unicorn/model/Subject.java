@@ -1,5 +1,8 @@
 package unicorn.model;
 
+import unicorn.util.RecordInput;
+import unicorn.util.RecordOutput;
+
 import java.util.UUID;
 
 /**
@@ -48,6 +51,23 @@ public class Subject extends Base<Subject> {
         return subject;
     }
 
+    @Override
+    public void writeRecord(RecordOutput out) {
+        out.writeId(id);
+        out.writeString(nombre);
+        out.writeString(descripcion);
+        out.writeInt(creditos);
+        out.writeString(tipo);
+    }
+
+    @Override
+    public Subject readRecord(RecordInput in, int schemaVersion) {
+        String subjectId = in.readId();
+        Subject subject = new Subject(in.readString(), in.readString(), in.readInt(), in.readString());
+        subject.id = subjectId;
+        return subject;
+    }
+
     @Override
     public String getInfo() {
         return String.format("Materia: %s\nDescripción: %s\nCréditos: %d\nTipo: %s", nombre, descripcion, creditos, tipo);
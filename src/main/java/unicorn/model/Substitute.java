@@ -1,5 +1,8 @@
 package unicorn.model;
 
+import unicorn.util.RecordInput;
+import unicorn.util.RecordOutput;
+
 import java.time.LocalDate;
 import java.util.UUID;
 /**
@@ -108,6 +111,30 @@ public class Substitute extends Base<Substitute> {
         return sub;
     }
 
+    @Override
+    public void writeRecord(RecordOutput out) {
+        out.writeId(id);
+        out.writeId(originalTeacherId);
+        out.writeId(substituteTeacherId);
+        out.writeDate(startDate);
+        out.writeDate(endDate);
+        out.writeBoolean(active);
+        out.writeString(scheduleBackupPath);
+    }
+
+    @Override
+    public Substitute readRecord(RecordInput in, int schemaVersion) {
+        Substitute sub = new Substitute();
+        sub.setId(in.readId());
+        sub.setOriginalTeacherId(in.readId());
+        sub.setSubstituteTeacherId(in.readId());
+        sub.setStartDate(in.readDate());
+        sub.setEndDate(in.readDate());
+        sub.setActive(in.readBoolean());
+        sub.setScheduleBackupPath(in.readString());
+        return sub;
+    }
+
     @Override
     public String getInfo() {
         return String.format(
@@ -527,9 +527,7 @@ public class AccountMenuController extends BaseMenuController {
     mostrarMensajeCentrado("\n=== GESTIÓN DE SUSTITUCIONES ===");
     
     try {
-        Substitute prototype = new Substitute();
-        IFile<Substitute> fileHandler = new FileHandler<>(prototype);
-        SubstituteController subController = new SubstituteController(fileHandler);
+        SubstituteController subController = RepositoryRegistry.getInstance().substitutes();
         
         while (true) {
             System.out.println("\n1. Promover profesor a administrador");
@@ -803,7 +801,7 @@ public class AccountMenuController extends BaseMenuController {
                 System.out.println("Cuenta aprobada exitosamente.");
             } else if (opcion == 2) {
                 cuentaSeleccionada.rechazarCuenta();
-                accountController.saveChanges();
+                accountController.saveChanges(cuentaSeleccionada);
                 System.out.println("Cuenta rechazada exitosamente.");
             }
 
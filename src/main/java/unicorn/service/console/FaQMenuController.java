@@ -29,12 +29,10 @@ public class FaQMenuController extends BaseMenuController{
     private final Account account;
 
     public FaQMenuController(Account account) throws FaQException{
-        FaQ prototype = new FaQ();
         this.account = account;
-        IFile<FaQ> fileHandler = new FileHandler<>(prototype);
-        
+
         try {
-            this.faqController = new FaQController(fileHandler);
+            this.faqController = RepositoryRegistry.getInstance().faqs();
         } catch (FaQException e) {
             System.err.println("Error al inicializar FaQController: " + e.getMessage());
             this.faqController = null;
@@ -2,8 +2,6 @@ package unicorn.service.console;
 
 import unicorn.controller.*;
 import unicorn.exceptions.*;
-import unicorn.interfaces.IFile;
-import unicorn.interfaces.INews;
 import unicorn.model.*;
 import unicorn.util.*;
 import java.util.Scanner;
@@ -33,13 +31,8 @@ public class MainMenuController extends BaseMenuController {
 
     private void initializeAccountController() throws FaQException, AccountException {
         try {
-            // Inicializar controladores base
-            IFile<Account> accountFileHandler = new FileHandler<>(new Account());
-            IFile<Substitute> substituteFileHandler = new FileHandler<>(new Substitute());
-            IFile<FaQ> faqFileHandler = new FileHandler<>(new FaQ());
-            INews newsController = new NewsController(new FileHandler<>(new News()), "system");
-
-            this.accountController = new AccountController(accountFileHandler, substituteFileHandler, newsController, faqFileHandler);
+            // El controlador de cuentas es el mismo que usan el resto de los menús
+            this.accountController = RepositoryRegistry.getInstance().accounts();
         } catch (Exception e) {
             System.err.println("Error initializing account controller: " + e.getMessage());
             throw new AccountException("Failed to initialize system: " + e.getMessage());
@@ -69,22 +62,13 @@ public class MainMenuController extends BaseMenuController {
 
     private void initializeControllers() {
         try {
-            // Inicializar controladores
-            IFile<Account> accountFileHandler = new FileHandler<>(new Account());
-            IFile<Substitute> substituteFileHandler = new FileHandler<>(new Substitute());
-            IFile<FaQ> faqFileHandler = new FileHandler<>(new FaQ());
-            IFile<Subject> subjectFileHandler = new FileHandler<>(new Subject());
-            IFile<Room> roomFileHandler = new FileHandler<>(new Room());
-            IFile<Schedule> scheduleFileHandler = new FileHandler<>(new Schedule());
-            IFile<Period> periodFileHandler = new FileHandler<>(new Period());
-            INews newsController = new NewsController(new FileHandler<>(new News()), currentAccount.getUser());
-
-            this.accountController = new AccountController(accountFileHandler, substituteFileHandler, newsController, faqFileHandler);
+            // Los controladores se obtienen del registro: cada archivo se carga una sola vez por proceso
+            RepositoryRegistry registry = RepositoryRegistry.getInstance();
             this.accountMenu = new AccountMenuController(accountController, currentAccount);
 
-            RoomController roomController = new RoomController(roomFileHandler);
-            SubjectController subjectController = new SubjectController(subjectFileHandler);
-            ScheduleController scheduleController = new ScheduleController(scheduleFileHandler, new PeriodController(roomController, periodFileHandler));
+            RoomController roomController = registry.rooms();
+            SubjectController subjectController = registry.subjects();
+            ScheduleController scheduleController = registry.schedules();
  
 
             this.excelLoader = new ExcelHorarioLoader(
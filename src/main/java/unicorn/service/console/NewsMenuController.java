@@ -16,8 +16,7 @@ public class NewsMenuController extends BaseMenuController {
             throw new IllegalArgumentException("La cuenta no puede ser nula");
         }
         this.account = account;
-        IFile<News> newsFileHandler = new FileHandler<>(new News());
-        this.newsController = new NewsController(newsFileHandler, account.getId());
+        this.newsController = RepositoryRegistry.getInstance().newsFor(account.getId());
     }
 
     @Override
@@ -117,8 +116,10 @@ public class NewsMenuController extends BaseMenuController {
             String subjectId = readRequiredInput("ID Materia: ", "El ID de materia es requerido");
             String message = readRequiredInput("Mensaje: ", "El mensaje no puede estar vacío");
 
-            newsController.sendNewsForMateria(message, subjectId);
-            showSuccess("Comunicado enviado exitosamente a la materia " + subjectId);
+            NewsController.Delivery delivery = newsController.deliverToMateria(message, subjectId);
+            showSuccess(String.format("Comunicado enviado exitosamente a la materia %s (%d destinatarios, %s, %.0f/s)",
+                    subjectId, delivery.recipients(), delivery.onWrite() ? "entregado a cada bandeja" : "entregado al leer",
+                    delivery.perSecond()));
         } catch (NewsException e) {
             showError("Error al enviar a materia: " + e.getMessage());
         }
@@ -208,7 +209,7 @@ public class NewsMenuController extends BaseMenuController {
             }
             System.out.println(border);
 
-            System.out.printf("| %-76s |%n", "ESTADO: " + (n.isLeida() ? "LEÍDO" : "NO LEÍDO"));
+            System.out.printf("| %-76s |%n", "ESTADO: " + (newsController.isRead(n) ? "LEÍDO" : "NO LEÍDO"));
             System.out.println(border);
             System.out.println(); // Espacio entre comunicados
         }
@@ -14,8 +14,7 @@ public class RoomMenuController extends BaseMenuController {
 
     public RoomMenuController(Account account) throws RoomException {
         this.account = account;
-        IFile<Room> fileHandler = new FileHandler<>(new Room());
-        this.roomController = new RoomController(fileHandler);
+        this.roomController = RepositoryRegistry.getInstance().rooms();
     }
 
     @Override
@@ -17,10 +17,9 @@ public class ScheduleMenuController extends BaseMenuController {
 
     public ScheduleMenuController(Account account) throws ScheduleException, PeriodException, RoomException, FileException {
         this.account = account;
-        IFile<Schedule> scheduleFileHandler = new FileHandler<>(new Schedule());
-        IFile<Period> periodFileHandler = new FileHandler<>(new Period.Builder().build());
-        this.periodController = new PeriodController(new RoomController(new FileHandler<>(new Room())), periodFileHandler);
-        this.scheduleController = new ScheduleController(scheduleFileHandler,periodController);
+        RepositoryRegistry registry = RepositoryRegistry.getInstance();
+        this.periodController = registry.periods();
+        this.scheduleController = registry.schedules();
     }
 
     @Override
@@ -13,8 +13,7 @@ public class SubjectMenuController extends BaseMenuController {
 
     public SubjectMenuController(Account account) throws SubjectException {
         this.account = account;
-        IFile<Subject> fileHandler = new FileHandler<>(new Subject());
-        this.subjectController = new SubjectController(fileHandler);
+        this.subjectController = RepositoryRegistry.getInstance().subjects();
     }
 
     @Override
@@ -25,12 +25,7 @@ public class I_LOGIN extends javax.swing.JFrame {
         AccountController tempController;
         try {
             // Usa el constructor completo si tu sistema lo requiere (ajusta según tus dependencias)
-            tempController = new AccountController(
-                new FileHandler<>(new Account()),
-                new FileHandler<>(new Substitute()),
-                new NewsController(new FileHandler<>(new News()), "admin"),
-                new FileHandler<>(new FaQ())
-            );
+            tempController = RepositoryRegistry.getInstance().accounts();
         } catch (AccountException | NewsException e) {
             JOptionPane.showMessageDialog(
                 null,
@@ -304,7 +299,7 @@ public class I_LOGIN extends javax.swing.JFrame {
                     // Cambia la contraseña y quita el flag
                     loggedAccount.setPassword(nueva);
                     loggedAccount.setRequiereCambioPassword(false);
-                    accountController.saveChanges();
+                    accountController.saveChanges(loggedAccount);
                     JOptionPane.showMessageDialog(this, "Contraseña cambiada exitosamente.", "Éxito", JOptionPane.INFORMATION_MESSAGE);
                     changed = true;
                 }
@@ -46,12 +46,7 @@ public class I_MYACC extends javax.swing.JFrame {
 
         try {
             // Inicialización correcta del controlador
-            tempController = new AccountController(
-                new FileHandler<>(new Account()),
-                new FileHandler<>(new Substitute()),
-                new NewsController(new FileHandler<>(new News()), "admin"),
-                new FileHandler<>(new FaQ())
-            );
+            tempController = RepositoryRegistry.getInstance().accounts();
         } catch (Exception e) {
             JOptionPane.showMessageDialog(null, "Error inicializando controlador: " + e.getMessage());
             this.accountController = null;
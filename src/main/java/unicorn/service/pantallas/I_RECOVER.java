@@ -480,12 +480,7 @@ public class I_RECOVER extends javax.swing.JFrame {
             AccountController tempController;
             try {
                 // Usa el constructor completo si tu sistema lo requiere (ajusta según tus dependencias)
-                tempController = new AccountController(
-                    new FileHandler<>(new Account()),
-                    new FileHandler<>(new Substitute()),
-                    new NewsController(new FileHandler<>(new News()), "admin"),
-                    new FileHandler<>(new FaQ())
-                );
+                tempController = RepositoryRegistry.getInstance().accounts();
             } catch (AccountException | NewsException e) {
                 JOptionPane.showMessageDialog(
                     null,
@@ -28,7 +28,7 @@ public class VI_ADM_FAQ extends javax.swing.JFrame {
     public VI_ADM_FAQ(Account account) {
         FaQController tempController;
         try {
-            tempController = new FaQController(new FileHandler<>(new FaQ()));
+            tempController = RepositoryRegistry.getInstance().faqs();
         } catch (FaQException e) {
             JOptionPane.showMessageDialog(null, "Error al inicializar: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
             tempController = null;
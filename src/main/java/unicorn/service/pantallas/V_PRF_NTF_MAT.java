@@ -33,8 +33,7 @@ public class V_PRF_NTF_MAT extends javax.swing.JFrame {
     public V_PRF_NTF_MAT(Account account) {
         this.account = account;
         try {
-            IFile<News> newsFileHandler = new FileHandler<>(new News());
-            this.newsController = new NewsController(newsFileHandler, account.getId());
+            this.newsController = RepositoryRegistry.getInstance().newsFor(account.getId());
         } catch (NewsException e) {
             throw new RuntimeException("Error al inicializar el controlador de notificaciones", e);
         }
@@ -133,7 +132,7 @@ public class V_PRF_NTF_MAT extends javax.swing.JFrame {
                     news.getMensaje(),
                     news.getTipoNotificacion().getDescripcion(),
                     news.getFecha().format(formatter),
-                    news.isLeida() ? "LEÍDO" : "NO LEÍDO"
+                    newsController.isRead(news) ? "LEÍDO" : "NO LEÍDO"
                 });
             }
             
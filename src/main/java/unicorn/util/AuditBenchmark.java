@@ -0,0 +1,113 @@
+package unicorn.util;
+
+import unicorn.model.Period;
+import unicorn.model.Schedule;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Programa de medición de la auditoría de conflictos.
+ * Genera periodos y horarios sintéticos (con una fracción de choques de aula y de profesor)
+ * y mide el tiempo de {@link ConflictAuditor} con 1, 2, 4, ... hilos hasta la cantidad de núcleos.
+ *
+ * @description Funcionalidades principales:
+ *                   - Generar la cantidad de periodos indicada, repartidos en aulas, días y profesores.
+ *                   - Medir la mejor de varias auditorías (tras una de calentamiento) por cantidad de hilos.
+ *                   - Mostrar los conflictos encontrados y la aceleración respecto a un hilo.
+ *
+ * Uso:
+ * <pre>
+ *     java unicorn.util.AuditBenchmark [periodos] [repeticiones]
+ * </pre>
+ *
+ * @author KNOWLES
+ * @version 1.0
+ * @since 2026-10-18
+ * @see ConflictAuditor
+ */
+public final class AuditBenchmark {
+    private static final DayOfWeek[] DAYS = {
+            DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY,
+            DayOfWeek.THURSDAY, DayOfWeek.FRIDAY, DayOfWeek.SATURDAY
+    };
+    private static final int SLOTS_PER_DAY = 9;      // Bloques de 90 minutos desde las 06:45
+    private static final int PERIODS_PER_SCHEDULE = 2;
+
+    private AuditBenchmark() {}
+
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        List<Period> periods = new ArrayList<>(count);
+        List<Schedule> schedules = new ArrayList<>(count / PERIODS_PER_SCHEDULE + 1);
+        generate(count, periods, schedules);
+        System.out.printf("Periodos: %,d, horarios: %,d, núcleos: %d%n", periods.size(), schedules.size(), cores);
+
+        Path report = Files.createTempFile("conflicts-benchmark", ".txt");
+        try {
+            long single = 0;
+            for (int threads = 1; threads <= cores; threads = threads < cores && threads * 2 > cores ? cores : threads * 2) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                try {
+                    ConflictAuditor.Report result = ConflictAuditor.audit(periods, schedules, report, pool);
+                    long best = Long.MAX_VALUE;
+                    for (int i = 0; i < runs; i++) {
+                        long start = System.nanoTime();
+                        ConflictAuditor.audit(periods, schedules, report, pool);
+                        best = Math.min(best, System.nanoTime() - start);
+                    }
+                    if (threads == 1) single = best;
+                    System.out.printf("%-12s %10.1f ms   x%.2f   (%,d aula, %,d profesor)%n", threads + " hilo(s)",
+                            best / 1e6, (double) single / best, result.roomConflicts(), result.professorConflicts());
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        } finally {
+            Files.deleteIfExists(report);
+        }
+    }
+
+    // Cada aula tiene como máximo un periodo por bloque salvo un 1 % de periodos desplazados 30
+    // minutos, que chocan con el bloque vecino; los profesores reciben horarios al azar
+    private static void generate(int count, List<Period> periods, List<Schedule> schedules) {
+        Random random = new Random(42);
+        int rooms = Math.max(1, count / (DAYS.length * SLOTS_PER_DAY));
+        int professors = Math.max(1, count / 12);
+        String[] roomIds = new String[rooms];
+        for (int i = 0; i < rooms; i++) roomIds[i] = UUID.randomUUID().toString();
+
+        List<Period> pending = new ArrayList<>(PERIODS_PER_SCHEDULE);
+        for (int i = 0; i < count; i++) {
+            int cell = i % (DAYS.length * SLOTS_PER_DAY);
+            int room = (i / (DAYS.length * SLOTS_PER_DAY)) % rooms;
+            LocalTime start = LocalTime.of(6, 45).plusMinutes(90L * (cell % SLOTS_PER_DAY));
+            if (random.nextInt(100) == 0) start = start.plusMinutes(30);
+            Period period = new Period.Builder()
+                    .withId(UUID.randomUUID().toString())
+                    .withDay(DAYS[cell / SLOTS_PER_DAY])
+                    .withTimeRange(start, start.plusMinutes(90))
+                    .forSubject("MAT" + (i % 1000))
+                    .inRoom(roomIds[room])
+                    .build();
+            periods.add(period);
+            pending.add(period);
+            if (pending.size() == PERIODS_PER_SCHEDULE) {
+                schedules.add(new Schedule("prof" + random.nextInt(professors), period.getSubjectId(),
+                        String.valueOf(i % 20), "R", new ArrayList<>(pending)));
+                pending.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package unicorn.util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Conjunto comprimido de enteros no negativos (por ejemplo, ordinales de usuario).
+ * Los valores se agrupan en bloques de 65 536 según sus 16 bits altos. Un bloque con pocos valores
+ * se guarda como un arreglo ordenado de 16 bits (2 bytes por valor) y, al superar 4 096 valores,
+ * pasa a un mapa de bits fijo de 8 KB. Así un conjunto disperso ocupa espacio proporcional a su
+ * tamaño y uno denso nunca ocupa más de un bit por valor posible.
+ *
+ * @description Funcionalidades principales:
+ *                   - Agregar valores y consultar si pertenecen al conjunto.
+ *                   - Elegir de forma automática la representación más compacta de cada bloque.
+ *                   - Informar la cantidad de valores del conjunto.
+ *
+ * @note No es seguro para uso concurrente sin sincronización externa.
+ *
+ * @author KNOWLES
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class CompactBitmap {
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 65536 / 64;
+
+    // Bloques ordenados por sus 16 bits altos; cada contenedor es un char[] (arreglo) o un long[] (mapa de bits)
+    private char[] keys = new char[0];
+    private Object[] containers = new Object[0];
+    private int[] sizes = new int[0];
+    private int cardinality;
+
+    /**
+     * Agrega un valor.
+     *
+     * @return true si el valor no estaba en el conjunto.
+     */
+    public boolean add(int value) {
+        if (value < 0) throw new IllegalArgumentException("Valor negativo: " + value);
+        char high = (char) (value >>> 16);
+        char low = (char) value;
+
+        int block = Arrays.binarySearch(keys, high);
+        if (block < 0) {
+            block = -block - 1;
+            insertBlock(block, high);
+        }
+
+        boolean added;
+        if (containers[block] instanceof long[] bits) {
+            long mask = 1L << low;
+            added = (bits[low >>> 6] & mask) == 0;
+            bits[low >>> 6] |= mask;
+        } else {
+            added = addToArray(block, low);
+        }
+        if (added) {
+            sizes[block]++;
+            cardinality++;
+        }
+        return added;
+    }
+
+    public boolean contains(int value) {
+        if (value < 0) return false;
+        int block = Arrays.binarySearch(keys, (char) (value >>> 16));
+        if (block < 0) return false;
+        char low = (char) value;
+        if (containers[block] instanceof long[] bits) {
+            return (bits[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) containers[block], 0, sizes[block], low) >= 0;
+    }
+
+    /**
+     * Recorre los valores en orden ascendente.
+     */
+    public void forEach(IntConsumer action) {
+        for (int block = 0; block < keys.length; block++) {
+            int base = keys[block] << 16;
+            if (containers[block] instanceof long[] bits) {
+                for (int word = 0; word < bits.length; word++) {
+                    for (long w = bits[word]; w != 0; w &= w - 1) {
+                        action.accept(base | (word << 6) | Long.numberOfTrailingZeros(w));
+                    }
+                }
+            } else {
+                char[] values = (char[]) containers[block];
+                for (int i = 0; i < sizes[block]; i++) action.accept(base | values[i]);
+            }
+        }
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    private boolean addToArray(int block, char low) {
+        char[] values = (char[]) containers[block];
+        int size = sizes[block];
+        int pos = Arrays.binarySearch(values, 0, size, low);
+        if (pos >= 0) return false;
+        pos = -pos - 1;
+
+        if (size == ARRAY_MAX) {
+            long[] bits = new long[BITMAP_WORDS];
+            for (int i = 0; i < size; i++) bits[values[i] >>> 6] |= 1L << values[i];
+            bits[low >>> 6] |= 1L << low;
+            containers[block] = bits;
+            return true;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.min(ARRAY_MAX, Math.max(4, size * 2)));
+            containers[block] = values;
+        }
+        System.arraycopy(values, pos, values, pos + 1, size - pos);
+        values[pos] = low;
+        return true;
+    }
+
+    private void insertBlock(int block, char high) {
+        int count = keys.length;
+        keys = Arrays.copyOf(keys, count + 1);
+        containers = Arrays.copyOf(containers, count + 1);
+        sizes = Arrays.copyOf(sizes, count + 1);
+        System.arraycopy(keys, block, keys, block + 1, count - block);
+        System.arraycopy(containers, block, containers, block + 1, count - block);
+        System.arraycopy(sizes, block, sizes, block + 1, count - block);
+        keys[block] = high;
+        containers[block] = new char[0];
+        sizes[block] = 0;
+    }
+}
@@ -0,0 +1,234 @@
+package unicorn.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import unicorn.model.Period;
+import unicorn.model.Schedule;
+
+/**
+ * Auditoría completa de choques de aulas y de profesores sobre todos los periodos y horarios.
+ * Los periodos se ordenan por (tipo, día, aula o profesor, hora de inicio); cada grupo contiguo
+ * resultante es una partición independiente que se recorre con una línea de barrido. Las
+ * particiones se agrupan en bloques que se recorren en tareas de un {@link ForkJoinPool}; cada
+ * bloque se escribe en el reporte, en el orden de las particiones, apenas terminan él y los
+ * anteriores. Solo unos pocos bloques están en curso a la vez, así que el reporte nunca se
+ * mantiene completo en memoria.
+ *
+ * @description Funcionalidades principales:
+ *                   - Detectar todos los pares de periodos que se cruzan en la misma aula y día.
+ *                   - Detectar todos los pares de periodos de un mismo profesor que se cruzan en el mismo día.
+ *                   - Ordenar y barrer las particiones en paralelo.
+ *                   - Escribir un reporte de texto con una línea por conflicto y un resumen final.
+ *
+ * @note Los intervalos son semiabiertos [inicio, fin), igual que en PeriodController: dos periodos
+ *       consecutivos no son un conflicto. Los choques de aula se calculan con la lista de periodos
+ *       y los de profesor con los periodos de cada horario.
+ *
+ * Formato de cada línea del reporte:
+ * <pre>
+ *     AULA|MONDAY|idAula|idPeriodoA 08:15-09:45|idPeriodoB 09:00-10:30
+ *     PROFESOR|MONDAY|idProfesor|idHorarioA 08:15-09:45|idHorarioB 09:00-10:30
+ * </pre>
+ *
+ * @author KNOWLES
+ * @version 1.0
+ * @since 2026-10-18
+ * @see unicorn.controller.ScheduleController#auditConflicts(Path)
+ */
+public final class ConflictAuditor {
+
+    /** Cantidad mínima de intervalos de cada bloque (salvo el último). */
+    private static final int TASK_INTERVALS = 16 * 1024;
+
+    public enum Kind { AULA, PROFESOR }
+
+    /**
+     * Resumen de una auditoría.
+     *
+     * @param roomConflicts Pares de periodos que chocan en una misma aula.
+     * @param professorConflicts Pares de periodos que chocan para un mismo profesor.
+     * @param intervals Cantidad total de intervalos auditados.
+     */
+    public record Report(long roomConflicts, long professorConflicts, int intervals) {
+        public long total() {
+            return roomConflicts + professorConflicts;
+        }
+    }
+
+    // Intervalo normalizado: las horas se guardan como nanosegundos del día para comparar sin objetos
+    private record Interval(Kind kind, DayOfWeek day, String key, String id, long start, long end) {}
+
+    private static final Comparator<Interval> PARTITION_ORDER = Comparator
+            .comparing(Interval::kind)
+            .thenComparing(Interval::day)
+            .thenComparing(Interval::key)
+            .thenComparingLong(Interval::start);
+
+    private ConflictAuditor() {}
+
+    /**
+     * Audita los periodos y horarios en el pool común y escribe el reporte en un archivo.
+     *
+     * @param periods Todos los periodos (para los choques de aula).
+     * @param schedules Todos los horarios (para los choques de profesor).
+     * @param report Archivo de salida; se sobrescribe.
+     * @return Resumen con la cantidad de conflictos encontrados.
+     * @throws IOException Si ocurre un error al escribir el reporte.
+     */
+    public static Report audit(Collection<Period> periods, Collection<Schedule> schedules, Path report)
+            throws IOException {
+        return audit(periods, schedules, report, ForkJoinPool.commonPool());
+    }
+
+    public static Report audit(Collection<Period> periods, Collection<Schedule> schedules, Path report,
+                               ForkJoinPool pool) throws IOException {
+        Path parent = report.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        try (BufferedWriter out = Files.newBufferedWriter(report, StandardCharsets.UTF_8)) {
+            return audit(periods, schedules, out, pool);
+        }
+    }
+
+    /**
+     * Audita los periodos y horarios escribiendo el reporte en el flujo indicado (que no se cierra).
+     */
+    public static Report audit(Collection<Period> periods, Collection<Schedule> schedules, Writer out,
+                               ForkJoinPool pool) throws IOException {
+        Interval[] intervals = collect(periods, schedules);
+        pool.submit(() -> Arrays.parallelSort(intervals, PARTITION_ORDER)).join();
+
+        int[] bounds = partitionBounds(intervals);
+        int[] chunks = chunkBounds(bounds);
+
+        // Entrega ordenada: se espera siempre al bloque más antiguo y se lanzan los siguientes
+        // a medida que se escribe, con a lo sumo window bloques en curso
+        int window = Math.max(2, pool.getParallelism() * 2);
+        Deque<ForkJoinTask<List<String>>> inFlight = new ArrayDeque<>(window);
+        int next = 0;
+        long room = 0;
+        long professor = 0;
+        try {
+            while (next < chunks.length - 1 || !inFlight.isEmpty()) {
+                while (next < chunks.length - 1 && inFlight.size() < window) {
+                    int from = chunks[next];
+                    int to = chunks[++next];
+                    inFlight.add(pool.submit(() -> sweepPartitions(intervals, bounds, from, to)));
+                }
+                for (String line : inFlight.poll().join()) {
+                    out.write(line);
+                    out.write('\n');
+                    if (line.startsWith(Kind.AULA.name())) room++;
+                    else professor++;
+                }
+            }
+        } finally {
+            inFlight.forEach(task -> task.cancel(false));
+        }
+        out.write(String.format("# %d conflicto(s) de aula, %d conflicto(s) de profesor, %d intervalo(s) auditado(s)%n",
+                room, professor, intervals.length));
+        out.flush();
+        return new Report(room, professor, intervals.length);
+    }
+
+    private static Interval[] collect(Collection<Period> periods, Collection<Schedule> schedules) {
+        List<Interval> result = new ArrayList<>(periods.size() * 2);
+        for (Period p : periods) {
+            add(result, Kind.AULA, p.getDay(), p.getRoomId(), p.getId(), p.getStart(), p.getEnd());
+        }
+        for (Schedule s : schedules) {
+            if (s.getProfesorId() == null || s.getPeriods() == null) continue;
+            for (Period p : s.getPeriods()) {
+                if (p != null) add(result, Kind.PROFESOR, p.getDay(), s.getProfesorId(), s.getId(), p.getStart(), p.getEnd());
+            }
+        }
+        return result.toArray(new Interval[0]);
+    }
+
+    private static void add(List<Interval> result, Kind kind, DayOfWeek day, String key, String id,
+                            LocalTime start, LocalTime end) {
+        if (day == null || key == null || start == null || end == null || !start.isBefore(end)) return;
+        result.add(new Interval(kind, day, key, id, start.toNanoOfDay(), end.toNanoOfDay()));
+    }
+
+    // Posiciones donde empieza cada partición (tipo, día, clave), más el largo total al final
+    private static int[] partitionBounds(Interval[] intervals) {
+        int[] bounds = new int[intervals.length + 1];
+        int count = 0;
+        for (int i = 0; i < intervals.length; i++) {
+            if (i == 0 || !samePartition(intervals[i - 1], intervals[i])) bounds[count++] = i;
+        }
+        bounds[count++] = intervals.length;
+        return Arrays.copyOf(bounds, count);
+    }
+
+    private static boolean samePartition(Interval a, Interval b) {
+        return a.kind() == b.kind() && a.day() == b.day() && a.key().equals(b.key());
+    }
+
+    // Posiciones de bounds donde empieza cada bloque: particiones contiguas que suman al menos
+    // TASK_INTERVALS intervalos, más la última partición al final
+    private static int[] chunkBounds(int[] bounds) {
+        int partitions = bounds.length - 1;
+        int[] chunks = new int[partitions + 1];
+        int count = 0;
+        chunks[count++] = 0;
+        for (int p = 1; p < partitions; p++) {
+            if (bounds[p] - bounds[chunks[count - 1]] >= TASK_INTERVALS) chunks[count++] = p;
+        }
+        if (partitions > 0) chunks[count++] = partitions;
+        return Arrays.copyOf(chunks, count);
+    }
+
+    // Recorre las particiones [from, to) de bounds
+    private static List<String> sweepPartitions(Interval[] intervals, int[] bounds, int from, int to) {
+        List<String> lines = new ArrayList<>();
+        for (int p = from; p < to; p++) {
+            sweep(intervals, bounds[p], bounds[p + 1], lines);
+        }
+        return lines;
+    }
+
+    // Barrido de una partición ordenada por inicio: los intervalos activos (aún sin terminar) que
+    // quedan al llegar un nuevo intervalo son exactamente los que se cruzan con él
+    private static void sweep(Interval[] intervals, int from, int to, List<String> lines) {
+        if (to - from < 2) return;
+        PriorityQueue<Interval> active = new PriorityQueue<>(Comparator.comparingLong(Interval::end));
+        for (int i = from; i < to; i++) {
+            Interval current = intervals[i];
+            while (!active.isEmpty() && active.peek().end() <= current.start()) {
+                active.poll();
+            }
+            for (Interval other : active) {
+                lines.add(format(other, current));
+            }
+            active.add(current);
+        }
+    }
+
+    private static String format(Interval a, Interval b) {
+        return a.kind() + "|" + a.day() + "|" + a.key()
+                + "|" + a.id() + " " + time(a.start()) + "-" + time(a.end())
+                + "|" + b.id() + " " + time(b.start()) + "-" + time(b.end());
+    }
+
+    private static String time(long nanoOfDay) {
+        return LocalTime.ofNanoOfDay(nanoOfDay).toString();
+    }
+}
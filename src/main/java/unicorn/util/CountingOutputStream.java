@@ -0,0 +1,43 @@
+package unicorn.util;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Flujo de salida que suma a un contador compartido la cantidad de bytes que escribe.
+ * Lo usan los manejadores de archivos para informar cuántos bytes se escribieron en disco.
+ *
+ * @description Funcionalidades principales:
+ *                   - Delegar la escritura en el flujo envuelto.
+ *                   - Acumular los bytes escritos en un contador que puede compartirse entre hilos.
+ *
+ * @author KNOWLES
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class CountingOutputStream extends FilterOutputStream {
+    private final AtomicLong counter;
+
+    /**
+     * @param out Flujo en el que se escribe.
+     * @param counter Contador al que se suman los bytes escritos.
+     */
+    public CountingOutputStream(OutputStream out, AtomicLong counter) {
+        super(out);
+        this.counter = counter;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        counter.incrementAndGet();
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        counter.addAndGet(len);
+    }
+}
@@ -1,15 +1,17 @@
 package unicorn.util;
 
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import unicorn.controller.*;
 import unicorn.model.*;
 import unicorn.exceptions.*;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileWriter;
+import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.DayOfWeek;
 import java.time.LocalTime;
 import java.util.*;
@@ -19,11 +21,71 @@ import java.util.logging.Logger;
 public class ExcelHorarioLoader {
     private static final Logger logger = Logger.getLogger(ExcelHorarioLoader.class.getName());
 
+    private static final String DIR_MATERIA = "src/main/java/unicorn/dto/schedules/materia/";
+    private static final String DIR_PROFESOR = "src/main/java/unicorn/dto/schedules/profesor/";
+
+    // Fila leída de la hoja: número con base 0 y valores de sus celdas por columna
+    private record Fila(int numero, String[] celdas) {
+        String celda(int columna) {
+            return columna < celdas.length ? celdas[columna] : "";
+        }
+    }
+
+    // Fila analizada y validada por un hilo de la línea de importación; no depende de los controladores
+    private record FilaAnalizada(int numero, String materia, String grupo, String tipo, String nombreProfesor,
+                                 String nombreNormalizado, String username, String errorProfesor,
+                                 List<Bloque> bloques, String clave, String huella) {
+        static FilaAnalizada incompleta(int numero) {
+            return new FilaAnalizada(numero, null, null, null, null, null, null, null, List.of(), null, null);
+        }
+
+        boolean esIncompleta() {
+            return materia == null;
+        }
+    }
+
+    // Bloque de periodo de una fila: datos válidos o el aviso con el que se descarta
+    private record Bloque(DayOfWeek dia, LocalTime inicio, LocalTime fin, String aulaNombre, String aviso) {
+        static Bloque descartado(String aviso) {
+            return new Bloque(null, null, null, null, aviso);
+        }
+    }
+
+    // Estado de una carga: cachés de entidades ya resueltas (el escritor es único, no requieren sincronización)
+    // y huellas de las filas, que al terminar describen la planilla importada
+    private static final class Carga {
+        private final String origen;
+        private final RowFingerprints huellas;
+        private final Set<String> vistas = new HashSet<>();
+        private final Map<String, Integer> ocurrencias = new HashMap<>();
+        // Horarios de una carga sin huellas por materia, grupo, tipo y profesor, que las filas pueden reemplazar
+        private final Map<String, Deque<String>> heredados = new HashMap<>();
+        private final Map<String, Room> aulas = new HashMap<>();
+        private final Map<String, Subject> materias = new HashMap<>();
+        private final Map<String, Account> profesores = new HashMap<>();
+        // Profesores creados por la carga, que se registran todos juntos antes de confirmar
+        private final List<Account> profesoresNuevos = new ArrayList<>();
+        // Los archivos de texto se escriben solo si la carga se confirma
+        private final HorariosTxt txt = new HorariosTxt();
+        private boolean datosCargados;
+        private int nuevas;
+        private int modificadas;
+        private int sinCambios;
+        private int eliminadas;
+
+        Carga(String origen, RowFingerprints huellas) {
+            this.origen = origen;
+            this.huellas = huellas;
+        }
+    }
+
     private final AccountController accountController;
     private final SubjectController subjectController;
     private final RoomController roomController;
     private final ScheduleController scheduleController;
     private final String estadoPath = "src/main/java/unicorn/dto/schedules/estado_carga.txt";
+    private final String conflictosPath = "src/main/java/unicorn/dto/schedules/conflictos.txt";
+    private final String huellasPath = "src/main/java/unicorn/dto/schedules/filas_importadas.txt";
 
     public ExcelHorarioLoader(AccountController accountController,
                             SubjectController subjectController,
@@ -35,40 +97,68 @@ public class ExcelHorarioLoader {
         this.scheduleController = scheduleController;
     }
     
+    /**
+     * Importa la planilla de horarios si su contenido no fue importado antes.
+     * Las cargas se identifican por el SHA-256 del archivo: una copia renombrada no se vuelve a
+     * importar y una planilla corregida con el mismo nombre sí. Al reimportar, solo se aplican las
+     * filas nuevas, modificadas o eliminadas respecto de la última carga del mismo archivo.
+     */
     public void cargarExcelSiCorresponde(String excelPath) throws HorarioLoaderException {
-        if (archivoCargadoPreviamente(excelPath)) {
+        String hash;
+        List<String> estado;
+        RowFingerprints huellas;
+        try {
+            hash = RowFingerprints.sha256(Paths.get(excelPath));
+            estado = leerEstado();
+            huellas = RowFingerprints.load(Paths.get(huellasPath));
+        } catch (IOException e) {
+            throw new HorarioLoaderException("Error al leer el archivo Excel: " + e.getMessage(), e);
+        }
+
+        if (archivoCargadoPreviamente(estado, hash)) {
             logger.info(() -> "El archivo " + excelPath + " ya fue cargado previamente. No se realizará la carga.");
             return;
         }
 
-        boolean datosCargados = false;
-
-        try (FileInputStream fis = new FileInputStream(new File(excelPath));
-             Workbook workbook = new XSSFWorkbook(fis)) {
+        // Todas las filas se confirman juntas: un solo guardado por archivo y todo o nada
+        UnitOfWork uow = UnitOfWork.begin();
+        Carga carga = new Carga(Paths.get(excelPath).toAbsolutePath().normalize().toString(), huellas);
 
-            Sheet sheet = workbook.getSheetAt(0);
-            if (sheet == null) {
-                throw new HorarioLoaderException("El archivo Excel no contiene hojas");
+        try {
+            // Cargas registradas antes de existir las huellas: los horarios existentes que coincidan con
+            // una fila del archivo se reemplazan en lugar de duplicarse
+            if (huellas.isEmpty() && cargadoSinHuellas(estado, excelPath)) {
+                adoptarHorariosExistentes(carga);
             }
 
-            Map<String, Room> aulasExistentes = new HashMap<>();
             roomController.getAllRooms().forEach(room ->
-                    aulasExistentes.put(room.getNombre().toLowerCase(), room));
-
-            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-                Row row = sheet.getRow(i);
-                if (row == null) continue;
-
-                try {
-                    procesarFila(row, aulasExistentes);
-                    datosCargados = true;
-                } catch (AccountException | RoomException | ScheduleException | SubjectException e) {
-                    logger.log(Level.WARNING, "Error procesando fila " + i + ": " + e.getMessage(), e);
-                }
+                    carga.aulas.put(room.getNombre().toLowerCase(), room));
+
+            // La hoja se lee por eventos en un hilo, las filas se analizan en paralelo y se escriben
+            // en orden en este hilo, que es el dueño de la unidad de trabajo
+            ImportPipeline.Stats stats = new ImportPipeline<Fila, FilaAnalizada>(this::analizarFila, fila -> escribirFila(fila, carga))
+                    .run(sink -> XlsxStreamReader.readFirstSheet(excelPath, (numero, celdas) -> {
+                        if (numero >= 1) sink.accept(new Fila(numero, celdas)); // La fila 0 es el encabezado
+                    }));
+            eliminarFilasAusentes(carga);
+            registrarProfesoresNuevos(carga);
+
+            // Las huellas y el estado se confirman junto con los datos
+            uow.stage(huellasPath, carga.huellas::toLines);
+            if (carga.datosCargados || carga.eliminadas > 0) {
+                List<String> nuevoEstado = new ArrayList<>(estado);
+                nuevoEstado.add(hash + " | " + excelPath + " | true");
+                uow.stage(estadoPath, () -> nuevoEstado);
             }
-
-            if (datosCargados) {
-                registrarCargaExitosa(excelPath);
+            uow.afterCommit(carga.txt::escribirPendientes);
+            uow.commit();
+            logger.info(() -> String.format("Filas procesadas: %d en %d ms (%.1f filas/s)",
+                    stats.items(), stats.millis(), stats.perSecond()));
+            logger.info(() -> String.format("Filas nuevas: %d, modificadas: %d, sin cambios: %d, eliminadas: %d",
+                    carga.nuevas, carga.modificadas, carga.sinCambios, carga.eliminadas));
+            auditarConflictos();
+
+            if (carga.datosCargados || carga.eliminadas > 0) {
                 logger.info("Carga de horarios desde Excel completada y registrada exitosamente.");
             } else {
                 logger.warning("No se cargaron datos desde el archivo Excel.");
@@ -76,142 +166,333 @@ public class ExcelHorarioLoader {
 
         } catch (Exception e) {
             throw new HorarioLoaderException("Error al procesar el archivo Excel: " + e.getMessage(), e);
+        } finally {
+            if (uow.isActive()) uow.rollback();
         }
     }
 
-    private boolean archivoCargadoPreviamente(String excelPath) {
-        File estado = new File(estadoPath);
-        if (!estado.exists()) {
-            return false;
+    // Revisa todos los periodos y horarios ya confirmados y deja el reporte de choques en un archivo
+    private void auditarConflictos() {
+        try {
+            ConflictAuditor.Report reporte = scheduleController.auditConflicts(Paths.get(conflictosPath));
+            if (reporte.total() > 0) {
+                logger.warning(() -> "Se detectaron " + reporte.roomConflicts() + " choque(s) de aula y "
+                        + reporte.professorConflicts() + " choque(s) de profesor. Ver " + conflictosPath);
+            } else {
+                logger.info(() -> "Auditoría de conflictos sin observaciones (" + reporte.intervals() + " intervalos).");
+            }
+        } catch (ScheduleException e) {
+            logger.log(Level.WARNING, "Error al auditar conflictos", e);
         }
+    }
 
-        try (Scanner scanner = new Scanner(estado)) {
-            while (scanner.hasNextLine()) {
-                String linea = scanner.nextLine().trim();
-                if (linea.isEmpty()) continue;
-                String[] partes = linea.split("\\|");
-                if (partes.length < 2) continue;
-                String archivo = partes[0].trim();
-                String estadoCarga = partes[1].trim();
+    private List<String> leerEstado() throws IOException {
+        Path estado = Paths.get(estadoPath);
+        return Files.exists(estado) ? Files.readAllLines(estado, Charset.defaultCharset()) : new ArrayList<>();
+    }
 
-                if (archivo.equalsIgnoreCase(excelPath) && estadoCarga.equalsIgnoreCase("true")) {
-                    return true;
-                }
+    // Líneas "hash | archivo | true"
+    private boolean archivoCargadoPreviamente(List<String> estado, String hash) {
+        for (String[] partes : lineasDeEstado(estado)) {
+            if (partes.length == 3 && partes[0].equalsIgnoreCase(hash) && partes[2].equalsIgnoreCase("true")) {
+                return true;
             }
-        } catch (Exception e) {
-            logger.log(Level.WARNING, "Error al leer estado de carga", e);
         }
         return false;
     }
 
-    private void registrarCargaExitosa(String excelPath) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(estadoPath, true))) {
-            writer.println(excelPath + " | true");
-        } catch (Exception e) {
-            logger.log(Level.WARNING, "Error al registrar estado de carga", e);
+    // Líneas "archivo | true" escritas antes de registrar el hash del contenido
+    private boolean cargadoSinHuellas(List<String> estado, String excelPath) {
+        for (String[] partes : lineasDeEstado(estado)) {
+            if (partes.length == 2 && partes[0].equalsIgnoreCase(excelPath) && partes[1].equalsIgnoreCase("true")) {
+                return true;
+            }
         }
+        return false;
     }
 
-    private void procesarFila(Row row, Map<String, Room> aulasExistentes) 
-            throws AccountException, SubjectException, RoomException, ScheduleException {
-        String materia = getCellStringValue(row, 1); // Columna B
-        String grupo = getCellStringValue(row, 2);   // Columna C
-        String tipo = getCellStringValue(row, 3);    // Columna D
-        String nombreProfesor = getCellStringValue(row, 4); // Columna E
+    private List<String[]> lineasDeEstado(List<String> estado) {
+        List<String[]> lineas = new ArrayList<>();
+        for (String linea : estado) {
+            if (linea.trim().isEmpty()) continue;
+            String[] partes = linea.split("\\|");
+            for (int i = 0; i < partes.length; i++) partes[i] = partes[i].trim();
+            lineas.add(partes);
+        }
+        return lineas;
+    }
+
+    // Solo se registran como candidatos: un horario pasa a ser de este archivo cuando una fila coincide
+    // con su materia, grupo, tipo y profesor. Los que no coinciden (por ejemplo, los creados a mano) se conservan
+    private void adoptarHorariosExistentes(Carga carga) throws ScheduleException {
+        for (Schedule schedule : scheduleController.getAllSchedules()) {
+            String materia;
+            String profesor;
+            try {
+                materia = subjectController.getSubjectById(schedule.getSubjectId()).getNombre();
+                profesor = accountController.getById(schedule.getProfesorId()).getUser();
+            } catch (SubjectException | AccountException e) {
+                continue;
+            }
+            carga.heredados.computeIfAbsent(claveHeredada(claveFila(materia, schedule.getGrupo(), schedule.getClasType()), profesor),
+                    k -> new ArrayDeque<>()).add(schedule.getId());
+        }
+        logger.info("Horarios de una carga anterior sin huellas: se reemplazarán los que coincidan con las filas del archivo.");
+    }
+
+    private static String claveHeredada(String claveFila, String username) {
+        return claveFila + "|" + (username == null ? "" : username.toLowerCase());
+    }
+
+    // Las filas de este archivo que ya no aparecen en la planilla se eliminan con su horario
+    private void eliminarFilasAusentes(Carga carga) {
+        for (RowFingerprints.Entry previa : carga.huellas.fromSource(carga.origen)) {
+            if (carga.vistas.contains(previa.key())) continue;
+            eliminarHorario(previa.scheduleId());
+            carga.huellas.remove(previa.source(), previa.key());
+            carga.eliminadas++;
+        }
+    }
+
+    private void eliminarHorario(String scheduleId) {
+        try {
+            scheduleController.deleteSchedule(scheduleId);
+        } catch (ScheduleException e) {
+            logger.warning(() -> "No se pudo eliminar el horario " + scheduleId + ": " + e.getMessage());
+        }
+    }
+
+    // Qué representa una fila: materia, grupo y tipo de clase, sin distinguir mayúsculas ni espacios
+    private static String claveFila(String materia, String grupo, String tipo) {
+        return RowFingerprints.fingerprint(normalizarClave(materia), normalizarClave(grupo), normalizarClave(tipo));
+    }
+
+    private static String normalizarClave(String valor) {
+        return valor == null ? "" : valor.trim().replaceAll("\\s+", " ").toLowerCase();
+    }
+
+    // Etapa paralela: lee y valida las celdas sin tocar controladores ni archivos
+    private FilaAnalizada analizarFila(Fila row) {
+        String materia = row.celda(1); // Columna B
+        String grupo = row.celda(2);   // Columna C
+        String tipo = row.celda(3);    // Columna D
+        String nombreProfesor = row.celda(4); // Columna E
 
         if (materia.isEmpty() || grupo.isEmpty() || tipo.isEmpty() || nombreProfesor.isEmpty()) {
-            logger.warning("Fila incompleta, se omite.");
+            return FilaAnalizada.incompleta(row.numero());
+        }
+
+        String nombreCompleto = nombreProfesor.trim().replaceAll("\\s+", " ");
+        String username = null;
+        String errorProfesor = null;
+        // Validar formato básico del nombre (al menos dos partes)
+        if (nombreCompleto.split(" ").length < 2) {
+            errorProfesor = "Nombre de profesor debe contener al menos un nombre y un apellido: " + nombreCompleto;
+        } else {
+            try {
+                username = generarUsernameProfesor(nombreCompleto);
+            } catch (RuntimeException e) {
+                errorProfesor = "Error crítico al procesar profesor: " + nombreCompleto + ". Causa: " + e.getMessage();
+            }
+        }
+
+        // Huella de todas las columnas que usa la carga (B a U)
+        String[] columnas = new String[20];
+        for (int i = 0; i < columnas.length; i++) columnas[i] = row.celda(i + 1);
+
+        return new FilaAnalizada(row.numero(), materia, grupo, tipo, nombreProfesor, nombreCompleto,
+                username, errorProfesor, analizarBloques(row),
+                claveFila(materia, grupo, tipo), RowFingerprints.fingerprint(columnas));
+    }
+
+    // Etapa de escritura: se ejecuta en orden de fila y en un único hilo
+    private void escribirFila(FilaAnalizada fila, Carga carga) {
+        try {
+            if (fila.esIncompleta()) {
+                procesarFila(fila, carga);
+            } else {
+                aplicarFila(fila, carga);
+            }
+            carga.datosCargados = true;
+        } catch (AccountException | RoomException | ScheduleException | SubjectException e) {
+            logger.log(Level.WARNING, "Error procesando fila " + fila.numero() + ": " + e.getMessage(), e);
+        }
+    }
+
+    // Compara la fila con la última carga: las filas sin cambios se omiten y las modificadas
+    // reemplazan al horario que generaron
+    private void aplicarFila(FilaAnalizada fila, Carga carga)
+            throws AccountException, SubjectException, RoomException, ScheduleException {
+        // Filas repetidas (misma materia, grupo y tipo) se distinguen por su número de aparición
+        String clave = fila.clave() + "#" + carga.ocurrencias.merge(fila.clave(), 1, Integer::sum);
+        carga.vistas.add(clave);
+
+        // Solo cuentan las filas importadas desde este mismo archivo
+        RowFingerprints.Entry previa = carga.huellas.get(carga.origen, clave);
+        if (previa == null) {
+            // Horario de una carga sin huellas: contenido desconocido, se trata como fila modificada
+            Deque<String> heredados = carga.heredados.get(claveHeredada(fila.clave(), fila.username()));
+            String heredado = heredados == null ? null : heredados.poll();
+            if (heredado != null) previa = new RowFingerprints.Entry(clave, "", heredado, carga.origen);
+        }
+        if (previa != null && previa.fingerprint().equals(fila.huella())) {
+            carga.sinCambios++;
             return;
         }
 
+        if (previa == null) {
+            carga.nuevas++;
+            Schedule schedule = procesarFila(fila, carga);
+            if (schedule != null) {
+                carga.huellas.put(new RowFingerprints.Entry(clave, fila.huella(), schedule.getId(), carga.origen));
+            }
+            return;
+        }
+
+        // El horario anterior ocupa los mismos periodos que su reemplazo, por lo que se elimina antes
+        // de crearlo y se restaura (con su huella) si el reemplazo no se pudo crear
+        Schedule anterior = obtenerHorario(previa.scheduleId());
+        List<Period> periodosAnteriores = anterior == null ? List.of() : new ArrayList<>(anterior.getPeriods());
+        eliminarHorario(previa.scheduleId());
+
+        Schedule schedule;
+        try {
+            schedule = procesarFila(fila, carga);
+        } catch (AccountException | SubjectException | RoomException | ScheduleException | RuntimeException e) {
+            restaurarHorario(anterior, periodosAnteriores);
+            throw e;
+        }
+        if (schedule == null) {
+            restaurarHorario(anterior, periodosAnteriores);
+            return;
+        }
+        carga.modificadas++;
+        carga.huellas.put(new RowFingerprints.Entry(clave, fila.huella(), schedule.getId(), carga.origen));
+    }
+
+    private Schedule obtenerHorario(String scheduleId) {
+        try {
+            return scheduleController.getScheduleById(scheduleId);
+        } catch (ScheduleException e) {
+            return null;
+        }
+    }
+
+    // Vuelve a registrar el horario reemplazado con sus periodos. Su huella anterior no se modificó,
+    // de modo que la fila se vuelve a intentar en la próxima carga
+    private void restaurarHorario(Schedule anterior, List<Period> periodos) {
+        if (anterior == null) return;
+        try {
+            anterior.setPeriods(new ArrayList<>(periodos));
+            scheduleController.addSchedule(anterior);
+            logger.warning(() -> "No se pudo reemplazar el horario " + anterior.getId() + "; se conserva el anterior.");
+        } catch (ScheduleException e) {
+            logger.log(Level.SEVERE, "No se pudo restaurar el horario " + anterior.getId(), e);
+        }
+    }
+
+    private Schedule procesarFila(FilaAnalizada fila, Carga carga)
+            throws AccountException, SubjectException, RoomException, ScheduleException {
+        if (fila.esIncompleta()) {
+            logger.warning("Fila incompleta, se omite.");
+            return null;
+        }
+        String materia = fila.materia();
+        String grupo = fila.grupo();
+        String nombreProfesor = fila.nombreProfesor();
+
         // 1. Procesar materia
-        Subject subject = procesarMateria(materia, tipo);
-        
+        Subject subject = procesarMateria(materia, fila.tipo(), carga.materias);
+
         // 2. Procesar profesor
         Account profesor;
         try {
-            profesor = procesarProfesor(nombreProfesor);
-            if (profesor == null) {
-                logger.warning(() -> "No se pudo procesar profesor: " + nombreProfesor);
-                return;
-            }
+            profesor = procesarProfesor(fila, carga.profesores, carga.profesoresNuevos);
         } catch (AccountException e) {
             logger.log(Level.WARNING, "Error al procesar profesor: " + nombreProfesor, e);
-            return;
+            return null;
         }
-        
+
         // 3. Procesar periodos
-        List<ScheduleController.PeriodInfo> periodos = procesarPeriodos(row, aulasExistentes);
+        List<ScheduleController.PeriodInfo> periodos = procesarPeriodos(fila, carga.aulas);
 
         if (periodos.isEmpty()) {
             logger.warning(() -> "No hay periodos válidos para " + materia + " - " + nombreProfesor);
-            return;
+            return null;
         }
 
         // 4. Crear horario completo
         Schedule schedule = scheduleController.createCompleteSchedule(
-                subject.getId(), 
-                grupo, 
-                profesor.getId(), 
-                tipo, 
+                subject.getId(),
+                grupo,
+                profesor.getId(),
+                fila.tipo(),
                 periodos
         );
-        
-        // 5. Guardar en archivo TXT
-        guardarHorariosEnTxt(materia, grupo, nombreProfesor, periodos, profesor.getUser());
-        
-        logger.info(() -> "Horario creado para: " + materia + " - Grupo " + grupo + 
+
+        // 5. Guardar en archivo TXT (se escribe con el siguiente lote)
+        carga.txt.agregar(materia, grupo, nombreProfesor, periodos, profesor.getUser());
+
+        logger.info(() -> "Horario creado para: " + materia + " - Grupo " + grupo +
                 " - Profesor " + nombreProfesor + " con " + periodos.size() + " periodos");
+        return schedule;
     }
 
-    private Subject procesarMateria(String nombreMateria, String tipo) throws SubjectException {
+    private Subject procesarMateria(String nombreMateria, String tipo, Map<String, Subject> materias)
+            throws SubjectException {
+        String clave = nombreMateria.toLowerCase();
+        Subject subject = materias.get(clave);
+        if (subject != null) {
+            return subject;
+        }
+
         try {
             // Si la materia existe, la retornamos
-            return subjectController.getSubjectByName(nombreMateria);
+            subject = subjectController.getSubjectByName(nombreMateria);
         } catch (SubjectException e) {
             // Si no existe, la creamos
-            Subject subject = new Subject(
-                nombreMateria, 
-                "Materia generada automáticamente", 
-                3, 
+            subject = new Subject(
+                nombreMateria,
+                "Materia generada automáticamente",
+                3,
                 tipo
             );
             subjectController.addSubject(subject);
             logger.info(() -> "Materia creada: " + nombreMateria);
-            return subject;
         }
+        materias.put(clave, subject);
+        return subject;
     }
 
-    private Account procesarProfesor(String nombreCompleto) throws AccountException {
-        // Validación inicial más estricta
-        if (nombreCompleto == null || nombreCompleto.trim().isEmpty()) {
-            throw new AccountException("Nombre de profesor no puede estar vacío");
+    private Account procesarProfesor(FilaAnalizada fila, Map<String, Account> profesores, List<Account> nuevos)
+            throws AccountException {
+        if (fila.errorProfesor() != null) {
+            throw new AccountException(fila.errorProfesor());
         }
-        
-        nombreCompleto = nombreCompleto.trim().replaceAll("\\s+", " ");
-        
-        // Validar formato básico del nombre (al menos dos partes)
-        if (nombreCompleto.split(" ").length < 2) {
-            throw new AccountException("Nombre de profesor debe contener al menos un nombre y un apellido: " + nombreCompleto);
+
+        String nombreCompleto = fila.nombreNormalizado();
+        String username = fila.username();
+        Account conocido = profesores.get(username);
+        if (conocido != null) {
+            return conocido;
         }
 
         try {
-            String username = generarUsernameProfesor(nombreCompleto);
             String email = username + "@prf.umss.edu";
-            
+
             // 1. Intentar obtener profesor existente
             try {
                 Account profesorExistente = accountController.getByUsername(username);
                 if (profesorExistente != null) {
+                    profesores.put(username, profesorExistente);
                     return profesorExistente;
                 }
             } catch (AccountException e) {
                 // Continuar para crear nuevo profesor
             }
-            
+
             // 2. Crear nuevo profesor
             String[] partes = nombreCompleto.split(" ");
-            String nombre = partes[0];
             String apellido = partes[partes.length - 1];
 
             Account nuevoProfesor = new Account(
@@ -223,11 +504,16 @@ public class ExcelHorarioLoader {
                 "Hola1234",
                 TipoCuenta.PROFESOR
             );
-            
-            accountController.registerAccount(nuevoProfesor);
+
+            // El correo se valida ahora; el registro se hace en lote al terminar la hoja
+            if (correoRegistrado(email)) {
+                throw new AccountException("El correo electrónico ya está registrado");
+            }
+            nuevos.add(nuevoProfesor);
+            profesores.put(username, nuevoProfesor);
             logger.info(() -> "Nuevo profesor creado: " + username);
             return nuevoProfesor;
-            
+
         } catch (AccountException e) {
             logger.log(Level.SEVERE, "Error crítico al procesar profesor: " + nombreCompleto, e);
             throw new AccountException("Error crítico al procesar profesor: " + nombreCompleto + ". Causa: " + e.getMessage());
@@ -235,6 +521,29 @@ public class ExcelHorarioLoader {
     }
 
 
+    // Los horarios de la carga ya apuntan a los IDs de los profesores nuevos: si alguno no se registra,
+    // la carga completa se revierte en lugar de dejar horarios de un profesor inexistente
+    private void registrarProfesoresNuevos(Carga carga) throws AccountException, HorarioLoaderException {
+        List<Account> registrados = accountController.registerAccounts(carga.profesoresNuevos);
+        if (registrados.size() == carga.profesoresNuevos.size()) return;
+
+        Set<Account> confirmados = Collections.newSetFromMap(new IdentityHashMap<>());
+        confirmados.addAll(registrados);
+        List<String> omitidos = new ArrayList<>();
+        for (Account profesor : carga.profesoresNuevos) {
+            if (!confirmados.contains(profesor)) omitidos.add(profesor.getUser());
+        }
+        throw new HorarioLoaderException("No se pudieron registrar los profesores: " + String.join(", ", omitidos));
+    }
+
+    private boolean correoRegistrado(String email) {
+        try {
+            return accountController.getByEmail(email) != null;
+        } catch (AccountException e) {
+            return false;
+        }
+    }
+
     private String generarUsernameProfesor(String nombreCompleto) {
     if (nombreCompleto == null || nombreCompleto.trim().isEmpty()) {
         throw new IllegalArgumentException("Nombre de profesor no puede estar vacío");
@@ -270,9 +579,9 @@ public class ExcelHorarioLoader {
                 .replaceAll("[^a-z]", "");
     }
 
-    private List<ScheduleController.PeriodInfo> procesarPeriodos(Row row, Map<String, Room> aulasExistentes) {
-        List<ScheduleController.PeriodInfo> periodos = new ArrayList<>();
-        
+    private List<Bloque> analizarBloques(Fila row) {
+        List<Bloque> resultado = new ArrayList<>();
+
         // Definición de los bloques de columnas (dia, inicio, fin, aula)
         int[][] bloques = {
             {5, 6, 7, 8},   // Bloque 1: columnas F-I
@@ -283,10 +592,10 @@ public class ExcelHorarioLoader {
 
         for (int[] bloque : bloques) {
             try {
-                String diaStr = getCellStringValue(row, bloque[0]);
-                String inicioStr = getCellStringValue(row, bloque[1]);
-                String finStr = getCellStringValue(row, bloque[2]);
-                String aulaNombre = getCellStringValue(row, bloque[3]);
+                String diaStr = row.celda(bloque[0]);
+                String inicioStr = row.celda(bloque[1]);
+                String finStr = row.celda(bloque[2]);
+                String aulaNombre = row.celda(bloque[3]);
 
                 // Si el bloque está vacío, pasamos al siguiente
                 if (diaStr.isEmpty() && inicioStr.isEmpty() && finStr.isEmpty() && aulaNombre.isEmpty()) {
@@ -295,40 +604,55 @@ public class ExcelHorarioLoader {
 
                 // Validar que el bloque esté completo
                 if (diaStr.isEmpty() || inicioStr.isEmpty() || finStr.isEmpty() || aulaNombre.isEmpty()) {
-                    logger.warning(() -> "Bloque incompleto en fila " + (row.getRowNum() + 1));
+                    resultado.add(Bloque.descartado("Bloque incompleto en fila " + (row.numero() + 1)));
                     continue;
                 }
 
                 // 1. Validar día (Lunes-Viernes)
                 DayOfWeek dia = parseDia(diaStr);
                 if (dia == DayOfWeek.SUNDAY) {
-                    logger.warning(() -> "Domingo no permitido en fila " + (row.getRowNum() + 1));
+                    resultado.add(Bloque.descartado("Domingo no permitido en fila " + (row.numero() + 1)));
                     continue;
                 }
 
-                // 2. Procesar aula
-                Room aula = obtenerOCrearAula(aulaNombre, aulasExistentes);
-                if (aula == null) {
-                    continue;
-                }
-
-                // 3. Validar horas
+                // 2. Validar horas
                 LocalTime inicio = parseHora(inicioStr);
                 LocalTime fin = parseHora(finStr);
-                
+
                 if (inicio.isAfter(fin)) {
-                    logger.warning(() -> "Hora de inicio posterior a fin en fila " + (row.getRowNum() + 1));
+                    resultado.add(Bloque.descartado("Hora de inicio posterior a fin en fila " + (row.numero() + 1)));
                     continue;
                 }
 
-                // 4. Crear periodo
-                periodos.add(new ScheduleController.PeriodInfo(dia, inicio, fin, aula.getId()));
+                resultado.add(new Bloque(dia, inicio, fin, aulaNombre, null));
 
             } catch (Exception e) {
-                logger.warning(() -> "Error procesando bloque en fila " + (row.getRowNum() + 1) + ": " + e.getMessage());
+                resultado.add(Bloque.descartado("Error procesando bloque en fila " + (row.numero() + 1) + ": " + e.getMessage()));
             }
         }
 
+        return resultado;
+    }
+
+    private List<ScheduleController.PeriodInfo> procesarPeriodos(FilaAnalizada fila, Map<String, Room> aulasExistentes) {
+        List<ScheduleController.PeriodInfo> periodos = new ArrayList<>();
+
+        for (Bloque bloque : fila.bloques()) {
+            if (bloque.aviso() != null) {
+                logger.warning(bloque.aviso());
+                continue;
+            }
+
+            // Procesar aula
+            Room aula = obtenerOCrearAula(bloque.aulaNombre(), aulasExistentes);
+            if (aula == null) {
+                continue;
+            }
+
+            // Crear periodo
+            periodos.add(new ScheduleController.PeriodInfo(bloque.dia(), bloque.inicio(), bloque.fin(), aula.getId()));
+        }
+
         return periodos;
     }
 
@@ -352,34 +676,6 @@ public class ExcelHorarioLoader {
         return aula;
     }
 
-    private String getCellStringValue(Row row, int cellIndex) {
-        Cell cell = row.getCell(cellIndex, Row.MissingCellPolicy.RETURN_BLANK_AS_NULL);
-        if (cell == null) return "";
-
-        switch (cell.getCellType()) {
-            case STRING -> {
-                return cell.getStringCellValue().trim();
-            }
-            case NUMERIC -> {
-                if (DateUtil.isCellDateFormatted(cell)) {
-                    return cell.getLocalDateTimeCellValue().toLocalTime().toString();
-                } else {
-                    double numValue = cell.getNumericCellValue();
-                    // Para horas como 8.25 (8:15)
-                    if (numValue % 1 != 0) {
-                        int horas = (int) numValue;
-                        int minutos = (int) ((numValue - horas) * 60);
-                        return String.format("%02d:%02d", horas, minutos);
-                    }
-                    return String.valueOf((int) numValue);
-                }
-            }
-            default -> {
-                return "";
-            }
-        }
-    }
-
     private DayOfWeek parseDia(String abreviado) {
         if (abreviado == null || abreviado.isEmpty()) {
             throw new IllegalArgumentException("Día no puede ser nulo o vacío");
@@ -424,107 +720,96 @@ public class ExcelHorarioLoader {
         }
     }
 
-    private void guardarHorariosEnTxt(String materia, String grupo, String profesorNombre, 
-                                List<ScheduleController.PeriodInfo> periodos,
-                                String profesorUsername) {
-        // 1. Guardar en archivo individual de materia/grupo (opcional, puedes eliminar si no lo necesitas)
-        guardarHorarioIndividual(materia, grupo, profesorNombre, periodos);
-        
-        // 2. Guardar en archivo del profesor
-        guardarHorarioProfesor(materia, grupo, profesorNombre, periodos, profesorUsername);
-    }
+    private static void escribirHorario(StringBuilder destino, String materia, String grupo,
+                           String profesor, List<ScheduleController.PeriodInfo> periodos) {
+        destino.append("=== Horario ===").append(System.lineSeparator());
+        destino.append("Materia: ").append(materia).append(System.lineSeparator());
+        destino.append("Grupo: ").append(grupo).append(System.lineSeparator());
+        destino.append("Profesor: ").append(profesor).append(System.lineSeparator());
+        destino.append("Periodos:").append(System.lineSeparator());
 
-    private void guardarHorarioIndividual(String materia, String grupo, String profesor, 
-                                List<ScheduleController.PeriodInfo> periodos) {
-        // Crear nombre de archivo seguro (reemplazar caracteres inválidos)
-        String nombreArchivoSeguro = materia.replaceAll("[^a-zA-Z0-9]", "_") + "_" + 
-                                    grupo.replaceAll("[^a-zA-Z0-9]", "_") + ".txt";
-        
-        // Ruta completa del archivo
-        String rutaCompleta = "src/main/java/unicorn/dto/schedules/materia/" + nombreArchivoSeguro;
-        
-        // Crear directorio si no existe
-        new File("src/main/java/unicorn/dto/schedules/materia").mkdirs();
-        
-        try (PrintWriter writer = new PrintWriter(new FileWriter(rutaCompleta, true))) {
-            writer.println("=== Horario ===");
-            writer.println("Materia: " + materia);
-            writer.println("Grupo: " + grupo);
-            writer.println("Profesor: " + profesor);
-            writer.println("Periodos:");
-            
-            for (ScheduleController.PeriodInfo periodo : periodos) {
-                writer.printf("- %s: %s a %s en aula %s%n",
-                    periodo.day(), 
-                    periodo.startTime(), 
-                    periodo.endTime(),
-                    periodo.roomId());
-            }
-            writer.println("===============");
-            logger.info(() -> "Horario guardado en: " + rutaCompleta);
-        } catch (Exception e) {
-            logger.log(Level.WARNING, "No se pudo guardar el horario en " + rutaCompleta, e);
+        for (ScheduleController.PeriodInfo periodo : periodos) {
+            destino.append(String.format("- %s: %s a %s en aula %s%n",
+                periodo.day(),
+                periodo.startTime(),
+                periodo.endTime(),
+                periodo.roomId()));
         }
+        destino.append("===============").append(System.lineSeparator());
     }
 
-    private void guardarHorarioProfesor(String materia, String grupo, String profesorNombre,
-                                  List<ScheduleController.PeriodInfo> periodos,
-                                  String profesorUsername) {
-        String nombreArchivoProfesor = profesorUsername + "_schedule.txt";
-        String rutaProfesor = "src/main/java/unicorn/dto/schedules/profesor/" + nombreArchivoProfesor;
-        
-        new File("src/main/java/unicorn/dto/schedules/profesor/").mkdirs();
-        
-        // Verificar si el horario ya existe
-        if (horarioYaExiste(rutaProfesor, materia, grupo)) {
-            logger.info(() -> "Horario ya existe para " + profesorUsername + " - " + materia + " " + grupo);
-            return;
-        }
-        
-        try (PrintWriter writer = new PrintWriter(new FileWriter(rutaProfesor, true))) {
-            escribirHorario(writer, materia, grupo, profesorNombre, periodos);
+    /**
+     * Archivos de texto de horarios (uno por materia y grupo, otro por profesor). Los horarios se
+     * acumulan en memoria y se agregan a cada archivo de una sola vez al confirmar la carga.
+     */
+    private static final class HorariosTxt {
+        private final Map<String, StringBuilder> pendientes = new LinkedHashMap<>();
+        // Pares "materia|grupo" que ya figuran en cada archivo de profesor (leídos una vez por archivo)
+        private final Map<String, Set<String>> registradosPorProfesor = new HashMap<>();
+
+        void agregar(String materia, String grupo, String profesorNombre,
+                     List<ScheduleController.PeriodInfo> periodos, String profesorUsername) {
+            // 1. Guardar en archivo individual de materia/grupo (nombre seguro, sin caracteres inválidos)
+            String rutaCompleta = DIR_MATERIA + materia.replaceAll("[^a-zA-Z0-9]", "_") + "_"
+                    + grupo.replaceAll("[^a-zA-Z0-9]", "_") + ".txt";
+            escribirHorario(pendiente(rutaCompleta), materia, grupo, profesorNombre, periodos);
+            logger.info(() -> "Horario guardado en: " + rutaCompleta);
+
+            // 2. Guardar en archivo del profesor, salvo que ya tenga esa materia y grupo
+            String rutaProfesor = DIR_PROFESOR + profesorUsername + "_schedule.txt";
+            if (!registradosPorProfesor.computeIfAbsent(rutaProfesor, HorariosTxt::leerRegistrados)
+                    .add(materia + "|" + grupo)) {
+                logger.info(() -> "Horario ya existe para " + profesorUsername + " - " + materia + " " + grupo);
+                return;
+            }
+            escribirHorario(pendiente(rutaProfesor), materia, grupo, profesorNombre, periodos);
             logger.info(() -> "Horario agregado al archivo del profesor: " + rutaProfesor);
-        } catch (Exception e) {
-            logger.log(Level.WARNING, "No se pudo guardar horario del profesor", e);
         }
-    }
 
-    private boolean horarioYaExiste(String rutaArchivo, String materia, String grupo) {
-        File archivo = new File(rutaArchivo);
-        if (!archivo.exists()) {
-            return false;
-        }
-        
-        try (Scanner scanner = new Scanner(archivo)) {
-            while (scanner.hasNextLine()) {
-                String linea = scanner.nextLine();
-                if (linea.contains("Materia: " + materia) && 
-                    scanner.nextLine().contains("Grupo: " + grupo)) {
-                    return true;
+        /**
+         * Agrega al final de cada archivo los horarios de la carga. Se ejecuta una sola vez, después
+         * de confirmar la unidad de trabajo.
+         */
+        void escribirPendientes() {
+            for (Map.Entry<String, StringBuilder> entry : pendientes.entrySet()) {
+                File archivo = new File(entry.getKey());
+                archivo.getParentFile().mkdirs();
+                try (PrintWriter writer = new PrintWriter(new FileWriter(archivo, true))) {
+                    writer.print(entry.getValue());
+                } catch (Exception e) {
+                    logger.log(Level.WARNING, "No se pudo guardar el horario en " + entry.getKey(), e);
                 }
             }
-        } catch (Exception e) {
-            logger.log(Level.WARNING, "Error al verificar horario existente", e);
+            pendientes.clear();
         }
-        return false;
-    }
 
-    private void escribirHorario(PrintWriter writer, String materia, String grupo, 
-                           String profesor, List<ScheduleController.PeriodInfo> periodos) {
-        writer.println("=== Horario ===");
-        writer.println("Materia: " + materia);
-        writer.println("Grupo: " + grupo);
-        writer.println("Profesor: " + profesor);
-        writer.println("Periodos:");
-        
-        for (ScheduleController.PeriodInfo periodo : periodos) {
-            writer.printf("- %s: %s a %s en aula %s%n",
-                periodo.day(), 
-                periodo.startTime(), 
-                periodo.endTime(),
-                periodo.roomId());
+        private StringBuilder pendiente(String ruta) {
+            return pendientes.computeIfAbsent(ruta, r -> new StringBuilder());
+        }
+
+        private static Set<String> leerRegistrados(String rutaArchivo) {
+            Set<String> registrados = new HashSet<>();
+            File archivo = new File(rutaArchivo);
+            if (!archivo.exists()) {
+                return registrados;
+            }
+
+            try (Scanner scanner = new Scanner(archivo)) {
+                String materia = null;
+                while (scanner.hasNextLine()) {
+                    String linea = scanner.nextLine();
+                    if (linea.startsWith("Materia: ")) {
+                        materia = linea.substring("Materia: ".length());
+                    } else if (materia != null && linea.startsWith("Grupo: ")) {
+                        registrados.add(materia + "|" + linea.substring("Grupo: ".length()));
+                        materia = null;
+                    }
+                }
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Error al verificar horario existente", e);
+            }
+            return registrados;
         }
-        writer.println("===============");
     }
 }
 
@@ -0,0 +1,183 @@
+package unicorn.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Línea de procesamiento en tres etapas para importaciones fila por fila.
+ * Un hilo lector produce los elementos, varios hilos los transforman en paralelo (análisis y
+ * validación sin efectos secundarios) y el hilo que llama a {@link #run} consume los resultados
+ * uno a uno, en el mismo orden en que fueron producidos. Así la etapa que modifica datos tiene un
+ * único escritor y puede usar la unidad de trabajo del hilo actual.
+ *
+ * @description Funcionalidades principales:
+ *                   - Leer la fuente en un hilo propio mientras se procesan las filas anteriores.
+ *                   - Transformar los elementos en paralelo con una cantidad fija de hilos.
+ *                   - Entregar los resultados al escritor en el orden original.
+ *                   - Limitar la cantidad de elementos en curso para que la memoria no crezca con la fuente.
+ *                   - Medir la cantidad de elementos procesados y el tiempo total.
+ *
+ * @note Si la fuente, la transformación o el escritor fallan, se detienen las demás etapas y el
+ *       error se propaga desde {@link #run}.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ *     ImportPipeline.Stats stats = new ImportPipeline&lt;&gt;(this::analizar, this::escribir)
+ *             .run(sink -&gt; XlsxStreamReader.readFirstSheet(ruta, (n, celdas) -&gt; sink.accept(...)));
+ * </pre>
+ *
+ * @param <I> Tipo de los elementos producidos por la fuente.
+ * @param <O> Tipo de los elementos transformados.
+ *
+ * @author KNOWLES
+ * @version 1.0
+ * @since 2026-10-18
+ * @see ExcelHorarioLoader
+ */
+public final class ImportPipeline<I, O> {
+
+    /** Cantidad máxima de elementos producidos y aún no escritos. */
+    private static final int DEFAULT_CAPACITY = 256;
+
+    /**
+     * Fuente de elementos: entrega cada elemento al receptor y termina al agotarse.
+     */
+    @FunctionalInterface
+    public interface Source<I> {
+        void produce(Consumer<I> sink) throws Exception;
+    }
+
+    /**
+     * Resultado de una ejecución.
+     *
+     * @param items Cantidad de elementos escritos.
+     * @param nanos Tiempo total de la ejecución, en nanosegundos.
+     */
+    public record Stats(long items, long nanos) {
+        public double perSecond() {
+            return nanos == 0 ? 0 : items * 1e9 / nanos;
+        }
+
+        public long millis() {
+            return nanos / 1_000_000;
+        }
+    }
+
+    // Marca de fin de la fuente
+    private static final CompletableFuture<Object> END = CompletableFuture.completedFuture(null);
+
+    private final Function<I, O> stage;
+    private final Consumer<O> writer;
+    private final int workers;
+    private final int capacity;
+
+    /**
+     * @param stage Transformación de cada elemento; se ejecuta en paralelo y no debe modificar estado compartido.
+     * @param writer Escritor de los resultados; se ejecuta en el hilo que llama a {@link #run}.
+     */
+    public ImportPipeline(Function<I, O> stage, Consumer<O> writer) {
+        this(stage, writer, Runtime.getRuntime().availableProcessors(), DEFAULT_CAPACITY);
+    }
+
+    public ImportPipeline(Function<I, O> stage, Consumer<O> writer, int workers, int capacity) {
+        if (workers < 1 || capacity < 1) {
+            throw new IllegalArgumentException("Se requiere al menos un hilo y capacidad para un elemento");
+        }
+        this.stage = stage;
+        this.writer = writer;
+        this.workers = workers;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Ejecuta la línea completa y espera a que se escriba el último elemento.
+     *
+     * @param source Fuente de los elementos; se ejecuta en un hilo propio.
+     * @return Cantidad de elementos escritos y tiempo total.
+     * @throws Exception El primer error de la fuente, de la transformación o del escritor.
+     */
+    @SuppressWarnings("unchecked")
+    public Stats run(Source<I> source) throws Exception {
+        long start = System.nanoTime();
+        BlockingQueue<CompletableFuture<O>> queue = new ArrayBlockingQueue<>(capacity);
+        AtomicReference<Exception> sourceError = new AtomicReference<>();
+        ExecutorService pool = Executors.newFixedThreadPool(workers, daemon("import-worker"));
+        Thread reader = daemon("import-reader").newThread(() -> {
+            try {
+                source.produce(item -> {
+                    if (Thread.currentThread().isInterrupted()) throw new CancellationException();
+                    put(queue, CompletableFuture.supplyAsync(() -> stage.apply(item), pool));
+                });
+            } catch (CancellationException e) {
+                // El escritor detuvo la importación
+            } catch (Exception e) {
+                sourceError.set(e);
+            } finally {
+                putQuietly(queue, (CompletableFuture<O>) (CompletableFuture<?>) END);
+            }
+        });
+
+        long items = 0;
+        reader.start();
+        try {
+            for (CompletableFuture<O> next = queue.take(); next != END; next = queue.take()) {
+                writer.accept(resultOf(next));
+                items++;
+            }
+            if (sourceError.get() != null) throw sourceError.get();
+            return new Stats(items, System.nanoTime() - start);
+        } finally {
+            reader.interrupt();
+            queue.clear(); // Libera al lector si estaba esperando espacio
+            reader.join();
+            pool.shutdownNow();
+        }
+    }
+
+    private static <O> O resultOf(CompletableFuture<O> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception ex) throw ex;
+            if (cause instanceof Error err) throw err;
+            throw e;
+        }
+    }
+
+    private static <T> void put(BlockingQueue<T> queue, T value) {
+        try {
+            queue.put(value);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException();
+        }
+    }
+
+    // Al terminar la fuente siempre se intenta dejar la marca de fin; si el escritor ya se detuvo
+    // (hilo interrumpido) nadie la espera
+    private static <T> void putQuietly(BlockingQueue<T> queue, T value) {
+        try {
+            queue.put(value);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,112 @@
+package unicorn.util;
+
+import unicorn.controller.FileHandler;
+import unicorn.exceptions.FileException;
+import unicorn.interfaces.IFile;
+import unicorn.model.News;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Programa de medición de la carga paralela de archivos.
+ * Genera un archivo sintético de notificaciones y compara el tiempo de carga secuencial
+ * con la lectura por bytes (sin decodificar las líneas), con el formato binario y con la carga paralela usando
+ * 1, 2, 4, ... hilos hasta la cantidad de núcleos disponibles.
+ *
+ * @description Funcionalidades principales:
+ *                   - Generar un archivo con la cantidad de notificaciones indicada.
+ *                   - Medir la mejor de varias cargas (tras una de calentamiento) por configuración.
+ *                   - Mostrar el tiempo y la aceleración respecto a la carga secuencial.
+ *
+ * Uso:
+ * <pre>
+ *     java unicorn.util.LoadBenchmark [lineas] [repeticiones]
+ * </pre>
+ *
+ * @author KNOWLES
+ * @version 1.0
+ * @since 2026-10-18
+ * @see FileHandler
+ * @see ParallelLineParser
+ */
+public final class LoadBenchmark {
+
+    private LoadBenchmark() {}
+
+    public static void main(String[] args) throws IOException, FileException {
+        int lines = args.length > 0 ? Integer.parseInt(args[0]) : 300_000;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        Path file = Files.createTempFile("news-benchmark", ".txt");
+        try {
+            generate(file, lines);
+            System.out.printf("Archivo: %,d líneas, %,d bytes, %d núcleos%n", lines, Files.size(file), cores);
+
+            long sequential = measure(new FileHandler<>(new News()), file, runs, lines);
+            System.out.printf("%-12s %10.1f ms%n", "secuencial", sequential / 1e6);
+
+            long mapped = measure(new FileHandler.Builder<>(new News()).memoryMapped().build(), file, runs, lines);
+            System.out.printf("%-12s %10.1f ms   x%.2f%n", "bytes", mapped / 1e6, (double) sequential / mapped);
+
+            Path binaryFile = Files.createTempFile("news-benchmark", ".bin");
+            try {
+                Files.copy(file, binaryFile, StandardCopyOption.REPLACE_EXISTING);
+                FileHandler<News> binaryHandler = new FileHandler.Builder<>(new News()).binary().build();
+                binaryHandler.convert(binaryFile.toString(), FileHandler.Format.BINARY);
+                long binary = measure(binaryHandler, binaryFile, runs, lines);
+                System.out.printf("%-12s %10.1f ms   x%.2f   (%,d bytes, %.1f%% del texto)%n", "binario", binary / 1e6,
+                        (double) sequential / binary, Files.size(binaryFile), 100.0 * Files.size(binaryFile) / Files.size(file));
+            } finally {
+                Files.deleteIfExists(binaryFile);
+            }
+
+            for (int threads = 1; threads <= cores; threads = nextThreads(threads, cores)) {
+                IFile<News> handler = new FileHandler.Builder<>(new News()).parallelLoad(threads).build();
+                long elapsed = measure(handler, file, runs, lines);
+                System.out.printf("%-12s %10.1f ms   x%.2f%n", threads + " hilo(s)", elapsed / 1e6, (double) sequential / elapsed);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void generate(Path file, int lines) throws IOException {
+        TipoNews[] tipos = TipoNews.values();
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file.toFile()))) {
+            for (int i = 0; i < lines; i++) {
+                News news = new News("Notificación de prueba número " + i + " con un texto de longitud habitual",
+                        tipos[i % tipos.length], i % 3 == 0 ? null : "user" + (i % 500), "admin");
+                writer.write(news.toFile());
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * @return El mejor tiempo en nanosegundos entre las repeticiones, tras una carga de calentamiento.
+     */
+    private static long measure(IFile<News> handler, Path file, int runs, int expected) throws FileException {
+        handler.loadData(file.toString());
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            List<News> loaded = handler.loadData(file.toString());
+            best = Math.min(best, System.nanoTime() - start);
+            if (loaded.size() != expected) {
+                throw new IllegalStateException("Se esperaban " + expected + " registros, se cargaron " + loaded.size());
+            }
+        }
+        return best;
+    }
+
+    private static int nextThreads(int threads, int cores) {
+        return threads < cores && threads * 2 > cores ? cores : threads * 2;
+    }
+}
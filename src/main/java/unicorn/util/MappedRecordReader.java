@@ -0,0 +1,133 @@
+package unicorn.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Lectura de archivos de registros como bytes, sin decodificarlos a texto.
+ * Recorre el contenido por bloques de bytes buscando los saltos de línea y entrega cada registro
+ * al modelo como un {@link RecordFields}, sin crear un String por línea.
+ *
+ * @description Funcionalidades principales:
+ *                   - Leer un archivo completo a un ByteBuffer.
+ *                   - Recorrer un rango del contenido registro por registro, omitiendo las líneas vacías.
+ *                   - Ubicar saltos de línea para dividir el contenido en bloques.
+ *
+ * @note Un ByteBuffer solo puede direccionar hasta 2 GB; los archivos más grandes deben leerse
+ *       con el camino secuencial (ver {@link #canMap(long)}).
+ *       El archivo se copia al heap en lugar de mapearse con {@link FileChannel#map}: un mapeo no se
+ *       puede liberar explícitamente y, en Windows, mientras exista no se puede reemplazar el archivo
+ *       con un renombrado atómico (guardado durable, compactación o {@code UnitOfWork}).
+ *
+ * @author KNOWLES
+ * @version 1.0
+ * @since 2026-10-18
+ * @see RecordFields
+ * @see ParallelLineParser
+ */
+public final class MappedRecordReader {
+
+    /** Tamaño de los bloques que se copian desde el contenido del archivo para recorrerlos. */
+    private static final int BLOCK_BYTES = 1024 * 1024;
+
+    private MappedRecordReader() {}
+
+    /**
+     * @return true si un archivo del tamaño indicado se puede leer en un solo ByteBuffer.
+     */
+    public static boolean canMap(long size) {
+        return size <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * Lee el archivo completo a un ByteBuffer del heap. El archivo queda cerrado al retornar.
+     *
+     * @throws IOException Si ocurre un error al leer el archivo o si supera los 2 GB.
+     */
+    public static ByteBuffer load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (!canMap(size)) throw new IOException("El archivo supera los 2 GB: " + file);
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // FileChannel.read puede leer menos bytes de los pedidos
+            }
+            return buffer.flip();
+        }
+    }
+
+    /**
+     * Deserializa los registros no vacíos del rango [start, end).
+     *
+     * @param buffer Contenido del archivo.
+     * @param start Inicio del rango (debe ser el comienzo de una línea).
+     * @param end Fin del rango (exclusivo).
+     * @param charset Codificación del archivo.
+     * @param delimiter Separador de campos de los registros.
+     * @param parser Función que construye un objeto a partir de los campos de un registro.
+     * @return Un resultado por registro no vacío, en el orden del archivo.
+     */
+    public static <R> List<R> read(ByteBuffer buffer, int start, int end, Charset charset, char delimiter,
+                                   Function<RecordFields, R> parser) {
+        List<R> result = new ArrayList<>();
+        RecordFields fields = new RecordFields(charset, delimiter);
+        byte[] block = new byte[Math.min(BLOCK_BYTES, Math.max(end - start, 1))];
+
+        int position = start;
+        while (position < end) {
+            int length = Math.min(block.length, end - position);
+            buffer.get(position, block, 0, length);
+
+            // El bloque se corta en el último salto de línea; el resto se vuelve a copiar en el siguiente
+            int limit = length;
+            if (position + length < end) {
+                limit = lastLineEnd(block, length);
+                if (limit == 0) {
+                    block = new byte[block.length * 2];
+                    continue;
+                }
+            }
+
+            int lineStart = 0;
+            while (lineStart < limit) {
+                int lineEnd = lineStart;
+                while (lineEnd < limit && block[lineEnd] != '\n') lineEnd++;
+
+                int recordEnd = lineEnd > lineStart && block[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+                fields.at(block, lineStart, recordEnd);
+                if (!fields.isBlank()) result.add(parser.apply(fields));
+
+                lineStart = lineEnd + 1;
+            }
+            position += limit;
+        }
+        return result;
+    }
+
+    /**
+     * @return La posición siguiente al último '\n' del bloque, o 0 si no contiene ninguno.
+     */
+    private static int lastLineEnd(byte[] block, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (block[i] == '\n') return i + 1;
+        }
+        return 0;
+    }
+
+    /**
+     * @return La posición siguiente al primer '\n' a partir de from, o end si no hay ninguno.
+     */
+    public static int nextLineStart(ByteBuffer buffer, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (buffer.get(i) == '\n') return i + 1;
+        }
+        return end;
+    }
+}
@@ -0,0 +1,152 @@
+package unicorn.util;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import unicorn.model.News;
+
+/**
+ * Contadores de notificaciones que se actualizan con cada envío, lectura y eliminación, para que
+ * el contador de no leídas de un usuario y las estadísticas por tipo se obtengan sin recorrer
+ * las notificaciones.
+ *
+ * @description Funcionalidades principales:
+ *                   - Contar las notificaciones por tipo.
+ *                   - Contar las no leídas de cada bandeja por su destinatario, incluidas las entregadas al escribir.
+ *                   - Contar las no leídas de cada canal compartido (global y materias entregadas al leer)
+ *                     y cuántas de ellas leyó cada usuario.
+ *                   - Obtener las no leídas de un usuario como su bandeja más, por cada canal que recibe,
+ *                     las del canal menos las que ya leyó.
+ *
+ * @note Las notificaciones marcadas como leídas en el archivo (formato anterior) cuentan como
+ *       leídas para todos, igual que en {@link unicorn.controller.NewsController#isRead}.
+ *       Los métodos están sincronizados para que cada actualización sea atómica.
+ *
+ * @author KNOWLES
+ * @version 1.0
+ * @since 2026-10-18
+ * @see unicorn.controller.NewsController
+ */
+public final class NewsCounters {
+    private static final String GLOBAL = ""; // Canal de las notificaciones sin destinatario
+
+    private final Map<TipoNews, Long> byType = new EnumMap<>(TipoNews.class);
+    private final Map<String, Long> inboxUnread = new HashMap<>();
+    private final Map<String, Long> channelUnread = new HashMap<>();
+    private final Map<String, Map<String, Long>> channelReadByUser = new HashMap<>();
+
+    public synchronized void clear() {
+        byType.clear();
+        inboxUnread.clear();
+        channelUnread.clear();
+        channelReadByUser.clear();
+    }
+
+    /**
+     * Cuenta una notificación nueva, todavía sin lecturas.
+     *
+     * @param shared true si es de materia y se entrega al leer por el canal de la materia.
+     */
+    public synchronized void added(News news, boolean shared) {
+        byType.merge(news.getTipoNotificacion(), 1L, Long::sum);
+        if (news.isLeida()) return;
+        String channel = channelOf(news, shared);
+        if (channel != null) {
+            channelUnread.merge(channel, 1L, Long::sum);
+        } else {
+            inboxUnread.merge(news.getDestinatarioId(), 1L, Long::sum);
+        }
+    }
+
+    /**
+     * Cuenta la entrega de una notificación a las bandejas de varios usuarios.
+     */
+    public synchronized void delivered(News news, Collection<String> userIds) {
+        if (news.isLeida()) return;
+        for (String userId : userIds) inboxUnread.merge(userId, 1L, Long::sum);
+    }
+
+    /**
+     * Cuenta la primera lectura de la notificación por parte del usuario. Si no es de un canal
+     * compartido, debe estar en la bandeja del usuario.
+     */
+    public synchronized void read(News news, String userId, boolean shared) {
+        if (news.isLeida()) return;
+        String channel = channelOf(news, shared);
+        if (channel != null) {
+            channelReadByUser.computeIfAbsent(userId, u -> new HashMap<>()).merge(channel, 1L, Long::sum);
+        } else {
+            decrement(inboxUnread, userId);
+        }
+    }
+
+    /**
+     * Descuenta una notificación eliminada.
+     *
+     * @param readers Usuarios que la habían leído.
+     * @param delivered Usuarios a cuyas bandejas se había entregado.
+     */
+    public synchronized void removed(News news, boolean shared, Collection<String> readers, Collection<String> delivered) {
+        decrement(byType, news.getTipoNotificacion());
+        if (news.isLeida()) return;
+        String channel = channelOf(news, shared);
+        if (channel != null) {
+            decrement(channelUnread, channel);
+            for (String reader : readers) {
+                Map<String, Long> read = channelReadByUser.get(reader);
+                if (read == null) continue;
+                decrement(read, channel);
+                if (read.isEmpty()) channelReadByUser.remove(reader);
+            }
+            return;
+        }
+        Set<String> alreadyRead = new HashSet<>(readers); // Ya estaban descontadas de sus bandejas
+        if (!alreadyRead.contains(news.getDestinatarioId())) decrement(inboxUnread, news.getDestinatarioId());
+        for (String userId : delivered) {
+            if (!alreadyRead.contains(userId)) decrement(inboxUnread, userId);
+        }
+    }
+
+    /**
+     * @return Cantidad de notificaciones no leídas del usuario (propias y globales).
+     */
+    public synchronized long unread(String userId) {
+        return unread(userId, List.of());
+    }
+
+    /**
+     * @param materias Materias cuyo canal recibe el usuario.
+     * @return Cantidad de notificaciones no leídas del usuario (propias, globales y de sus materias).
+     */
+    public synchronized long unread(String userId, Collection<String> materias) {
+        Map<String, Long> read = channelReadByUser.getOrDefault(userId, Map.of());
+        long total = inboxUnread.getOrDefault(userId, 0L)
+                + channelUnread.getOrDefault(GLOBAL, 0L) - read.getOrDefault(GLOBAL, 0L);
+        for (String materia : materias) {
+            total += channelUnread.getOrDefault(materia, 0L) - read.getOrDefault(materia, 0L);
+        }
+        return total;
+    }
+
+    /**
+     * @return Copia de la cantidad de notificaciones por tipo; solo incluye los tipos con notificaciones.
+     */
+    public synchronized Map<TipoNews, Long> byType() {
+        return new EnumMap<>(byType);
+    }
+
+    // Canal compartido de la notificación, o null si va a bandejas
+    private static String channelOf(News news, boolean shared) {
+        if (news.getDestinatarioId() == null) return GLOBAL;
+        return shared ? news.getDestinatarioId() : null;
+    }
+
+    private static <K> void decrement(Map<K, Long> counts, K key) {
+        counts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+    }
+}
@@ -0,0 +1,250 @@
+package unicorn.util;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+import unicorn.model.News;
+
+/**
+ * Índice de notificaciones por destinatario, ordenado de la más reciente a la más antigua.
+ * Cada destinatario (usuario o materia) tiene su bandeja y las notificaciones globales van a un
+ * canal común. Al leer, la bandeja del usuario y el canal global se mezclan de forma perezosa, por
+ * lo que obtener las N más recientes solo recorre N elementos, sin importar el historial total.
+ * Las notificaciones de materia pueden además entregarse a las bandejas de sus destinatarios
+ * (al escribir) o publicarse en el canal de la materia, que se mezcla al leer con el de cada
+ * usuario que la cursa.
+ * Además, todas las notificaciones se indexan por (fecha, ID) para consultar rangos de fechas en
+ * O(log n + k) y separar las anteriores a una fecha de corte.
+ *
+ * @description Funcionalidades principales:
+ *                   - Agregar y quitar notificaciones en O(log n) de su bandeja.
+ *                   - Entregar una notificación a las bandejas de varios usuarios o publicarla en el canal de su materia.
+ *                   - Recorrer las notificaciones de un usuario (propias, globales y de sus materias) de la más reciente a la más antigua.
+ *                   - Obtener las N más recientes de un usuario, con o sin filtro.
+ *                   - Listar una bandeja o el canal global por separado.
+ *                   - Obtener las notificaciones de un rango de fechas o anteriores a una fecha de corte.
+ *
+ * @note Las notificaciones con la misma fecha se ordenan por ID, para que el orden sea estable y
+ *       dos notificaciones distintas nunca se consideren iguales dentro de una bandeja.
+ *
+ * @author KNOWLES
+ * @version 1.0
+ * @since 2026-10-18
+ * @see unicorn.controller.NewsController
+ */
+public final class NewsFeedIndex {
+    /** Orden de las bandejas: fecha descendente y luego ID. */
+    public static final Comparator<News> NEWEST_FIRST = Comparator
+            .comparing(News::getFecha, Comparator.reverseOrder())
+            .thenComparing(News::getId);
+
+    private final Map<String, NavigableSet<News>> inboxes = new HashMap<>();
+    private final NavigableSet<News> global = new TreeSet<>(NEWEST_FIRST);
+    // Notificaciones de materia entregadas al leer, por materia
+    private final Map<String, NavigableSet<News>> channels = new HashMap<>();
+    // Usuarios a cuyas bandejas se entregó cada notificación
+    private final Map<String, List<String>> deliveredTo = new HashMap<>();
+    private final NavigableMap<DateKey, News> byDate = new TreeMap<>();
+
+    // Clave del índice por fecha; un ID null es menor que cualquier otro y sirve como cota
+    private record DateKey(LocalDateTime fecha, String id) implements Comparable<DateKey> {
+        private static final Comparator<DateKey> ORDER = Comparator
+                .comparing(DateKey::fecha)
+                .thenComparing(DateKey::id, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+        static DateKey of(News news) {
+            return new DateKey(news.getFecha(), news.getId());
+        }
+
+        @Override
+        public int compareTo(DateKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    /**
+     * Agrega una notificación a la bandeja de su destinatario, o al canal global si no tiene.
+     */
+    public void add(News news) {
+        byDate.put(DateKey.of(news), news);
+        String recipient = news.getDestinatarioId();
+        if (recipient == null) {
+            global.add(news);
+        } else {
+            inboxes.computeIfAbsent(recipient, r -> new TreeSet<>(NEWEST_FIRST)).add(news);
+        }
+    }
+
+    /**
+     * Entrega una notificación ya agregada a las bandejas de los usuarios indicados.
+     */
+    public void deliver(News news, Collection<String> userIds) {
+        for (String userId : userIds) {
+            inboxes.computeIfAbsent(userId, u -> new TreeSet<>(NEWEST_FIRST)).add(news);
+        }
+        deliveredTo.computeIfAbsent(news.getId(), id -> new ArrayList<>()).addAll(userIds);
+    }
+
+    /**
+     * Publica una notificación ya agregada en el canal de su destinatario, para mezclarla al leer.
+     */
+    public void share(News news) {
+        channels.computeIfAbsent(news.getDestinatarioId(), c -> new TreeSet<>(NEWEST_FIRST)).add(news);
+    }
+
+    /**
+     * Quita una notificación de su bandeja, de su canal y de las bandejas a las que se entregó.
+     *
+     * @return true si estaba en el índice.
+     */
+    public boolean remove(News news) {
+        byDate.remove(DateKey.of(news));
+        String recipient = news.getDestinatarioId();
+        if (recipient == null) return global.remove(news);
+
+        removeFrom(channels, recipient, news);
+        List<String> delivered = deliveredTo.remove(news.getId());
+        if (delivered != null) {
+            for (String userId : delivered) removeFrom(inboxes, userId, news);
+        }
+        return removeFrom(inboxes, recipient, news);
+    }
+
+    public void clear() {
+        inboxes.clear();
+        global.clear();
+        channels.clear();
+        deliveredTo.clear();
+        byDate.clear();
+    }
+
+    /**
+     * Recorre las notificaciones del usuario (las de su bandeja y las globales), de la más reciente
+     * a la más antigua. La mezcla se hace a medida que se avanza.
+     */
+    public Iterator<News> feed(String userId) {
+        return feed(userId, List.of());
+    }
+
+    /**
+     * Igual que {@link #feed(String)}, mezclando además los canales de las materias indicadas.
+     */
+    public Iterator<News> feed(String userId, Collection<String> materias) {
+        NavigableSet<News> inbox = userId != null ? inboxes.get(userId) : null;
+        Iterator<News> result = inbox == null ? global.iterator() : new MergeIterator(inbox.iterator(), global.iterator());
+        for (String materia : materias) {
+            NavigableSet<News> channel = channels.get(materia);
+            if (channel != null) result = new MergeIterator(result, channel.iterator());
+        }
+        return result;
+    }
+
+    /**
+     * Obtiene las {@code limit} notificaciones más recientes del usuario que cumplen el filtro.
+     *
+     * @param filter Condición adicional, o null para no filtrar.
+     * @param limit Cantidad máxima; un valor negativo no limita.
+     */
+    public List<News> newest(String userId, Predicate<News> filter, int limit) {
+        return newest(userId, List.of(), filter, limit);
+    }
+
+    /**
+     * Igual que {@link #newest(String, Predicate, int)}, incluyendo los canales de las materias indicadas.
+     */
+    public List<News> newest(String userId, Collection<String> materias, Predicate<News> filter, int limit) {
+        List<News> result = new ArrayList<>(limit >= 0 ? Math.min(limit, 64) : 16);
+        for (Iterator<News> it = feed(userId, materias); it.hasNext() && (limit < 0 || result.size() < limit); ) {
+            News news = it.next();
+            if (filter == null || filter.test(news)) result.add(news);
+        }
+        return result;
+    }
+
+    /**
+     * @return Las notificaciones dirigidas a un destinatario (sin las globales), más recientes primero.
+     */
+    public List<News> inbox(String recipientId) {
+        NavigableSet<News> inbox = inboxes.get(recipientId);
+        return inbox == null ? Collections.emptyList() : new ArrayList<>(inbox);
+    }
+
+    /**
+     * @return Las notificaciones globales, más recientes primero.
+     */
+    public List<News> global() {
+        return new ArrayList<>(global);
+    }
+
+    /**
+     * @return Las notificaciones con fecha entre {@code start} y {@code end} (ambas incluidas), más recientes primero.
+     */
+    public List<News> between(LocalDateTime start, LocalDateTime end) {
+        if (start.isAfter(end)) return new ArrayList<>();
+        NavigableMap<DateKey, News> range = end.equals(LocalDateTime.MAX)
+                ? byDate.tailMap(new DateKey(start, null), true)
+                : byDate.subMap(new DateKey(start, null), true, new DateKey(end.plusNanos(1), null), false);
+        return new ArrayList<>(range.descendingMap().values());
+    }
+
+    /**
+     * @return Las notificaciones con fecha anterior a {@code cutoff}, más antiguas primero.
+     */
+    public List<News> olderThan(LocalDateTime cutoff) {
+        return new ArrayList<>(byDate.headMap(new DateKey(cutoff, null), false).values());
+    }
+
+    private static boolean removeFrom(Map<String, NavigableSet<News>> sets, String key, News news) {
+        NavigableSet<News> set = sets.get(key);
+        if (set == null || !set.remove(news)) return false;
+        if (set.isEmpty()) sets.remove(key);
+        return true;
+    }
+
+    // Mezcla de dos recorridos ya ordenados con NEWEST_FIRST
+    private static final class MergeIterator implements Iterator<News> {
+        private final Iterator<News> left;
+        private final Iterator<News> right;
+        private News nextLeft;
+        private News nextRight;
+
+        MergeIterator(Iterator<News> left, Iterator<News> right) {
+            this.left = left;
+            this.right = right;
+            this.nextLeft = left.hasNext() ? left.next() : null;
+            this.nextRight = right.hasNext() ? right.next() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextLeft != null || nextRight != null;
+        }
+
+        @Override
+        public News next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            News result;
+            if (nextRight == null || (nextLeft != null && NEWEST_FIRST.compare(nextLeft, nextRight) <= 0)) {
+                result = nextLeft;
+                nextLeft = left.hasNext() ? left.next() : null;
+            } else {
+                result = nextRight;
+                nextRight = right.hasNext() ? right.next() : null;
+            }
+            return result;
+        }
+    }
+}
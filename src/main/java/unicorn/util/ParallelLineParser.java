@@ -0,0 +1,114 @@
+package unicorn.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+/**
+ * Utilidad para deserializar archivos de texto línea por línea usando varios núcleos.
+ * El contenido se divide en bloques alineados a saltos de línea, cada bloque se procesa
+ * en un {@link ForkJoinPool} y los resultados se unen respetando el orden del archivo.
+ *
+ * @description Funcionalidades principales:
+ *                   - Dividir el archivo en bloques que nunca cortan una línea a la mitad.
+ *                   - Procesar los bloques en paralelo con tareas recursivas (fork/join).
+ *                   - Unir los resultados en el mismo orden en que aparecen en el archivo.
+ *                   - Omitir las líneas vacías, igual que la lectura secuencial.
+ *                   - Entregar cada registro como línea completa o como {@link RecordFields}.
+ *
+ * @note El archivo se lee completo a memoria (ver {@link MappedRecordReader}), por lo que debe ocupar
+ *       menos de 2 GB. Se asume una codificación compatible con ASCII (UTF-8, ISO-8859-1), en la
+ *       que el byte '\n' solo puede aparecer como salto de línea. Los archivos pequeños se procesan
+ *       en un único bloque, ya que el costo de repartir el trabajo supera la ganancia.
+ *
+ * @author KNOWLES
+ * @version 1.1
+ * @since 2026-10-18
+ * @see ForkJoinPool
+ * @see MappedRecordReader
+ */
+public final class ParallelLineParser {
+
+    /** Tamaño mínimo en bytes de un bloque antes de dividirlo en dos tareas. */
+    private static final int CHUNK_BYTES = 256 * 1024;
+
+    private ParallelLineParser() {}
+
+    /**
+     * Lee y deserializa todas las líneas no vacías de un archivo.
+     *
+     * @param file Archivo a leer.
+     * @param charset Codificación del archivo.
+     * @param parser Función que convierte una línea en un objeto.
+     * @param pool Pool en el que se ejecutan las tareas.
+     * @return Lista con un resultado por línea no vacía, en el orden del archivo.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    public static <R> List<R> parse(Path file, Charset charset, Function<String, R> parser, ForkJoinPool pool)
+            throws IOException {
+        // Con '\n' como separador cada registro tiene un único campo: la línea completa
+        return parseFields(file, charset, '\n', fields -> parser.apply(fields.line()), pool);
+    }
+
+    /**
+     * Lee y deserializa todos los registros no vacíos de un archivo, entregando sus campos sin decodificar.
+     *
+     * @param file Archivo a leer.
+     * @param charset Codificación del archivo.
+     * @param delimiter Separador de campos de los registros.
+     * @param parser Función que construye un objeto a partir de los campos de un registro.
+     * @param pool Pool en el que se ejecutan las tareas.
+     * @return Lista con un resultado por registro no vacío, en el orden del archivo.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    public static <R> List<R> parseFields(Path file, Charset charset, char delimiter,
+                                          Function<RecordFields, R> parser, ForkJoinPool pool) throws IOException {
+        ByteBuffer content = MappedRecordReader.load(file);
+        return pool.invoke(new ChunkTask<>(content, 0, content.limit(), charset, delimiter, parser));
+    }
+
+    /**
+     * Tarea que procesa el rango [start, end) del contenido. Si el rango es grande, lo parte
+     * en el primer salto de línea posterior a la mitad y procesa ambas mitades en paralelo.
+     */
+    private static final class ChunkTask<R> extends RecursiveTask<List<R>> {
+        private final ByteBuffer content;
+        private final int start;
+        private final int end;
+        private final Charset charset;
+        private final char delimiter;
+        private final Function<RecordFields, R> parser;
+
+        private ChunkTask(ByteBuffer content, int start, int end, Charset charset, char delimiter,
+                          Function<RecordFields, R> parser) {
+            this.content = content;
+            this.start = start;
+            this.end = end;
+            this.charset = charset;
+            this.delimiter = delimiter;
+            this.parser = parser;
+        }
+
+        @Override
+        protected List<R> compute() {
+            if (end - start > CHUNK_BYTES) {
+                int split = MappedRecordReader.nextLineStart(content, start + (end - start) / 2, end);
+                if (split < end) {
+                    ChunkTask<R> left = new ChunkTask<>(content, start, split, charset, delimiter, parser);
+                    ChunkTask<R> right = new ChunkTask<>(content, split, end, charset, delimiter, parser);
+                    left.fork();
+                    List<R> rightResult = right.compute();
+                    List<R> result = left.join();
+                    result.addAll(rightResult);
+                    return result;
+                }
+            }
+            return MappedRecordReader.read(content, start, end, charset, delimiter, parser);
+        }
+    }
+}
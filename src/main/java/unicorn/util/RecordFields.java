@@ -0,0 +1,257 @@
+package unicorn.util;
+
+import java.nio.charset.Charset;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+
+/**
+ * Vista de solo lectura sobre un registro (una línea) de un archivo leído como bytes.
+ * El lector copia el archivo por bloques a un arreglo de bytes reutilizable y esta vista
+ * apunta al rango del registro dentro del bloque. Los límites de los campos se calculan la primera vez que se consulta alguno, y cada campo
+ * se convierte a String solo si el modelo lo pide; los campos booleanos, enumerados y de
+ * fecha/hora se interpretan directamente desde los bytes.
+ *
+ * @description Funcionalidades principales:
+ *                   - Ubicar los campos del registro escaneando los bytes en busca del delimitador.
+ *                   - Decodificar un campo individual o la línea completa.
+ *                   - Comparar un campo con un texto ASCII sin crear objetos.
+ *                   - Interpretar booleanos, enumerados, LocalTime y LocalDateTime desde los bytes.
+ *
+ * @note La instancia se reutiliza para todos los registros de un archivo (ver {@link #at(byte[], int, int)}),
+ *       por lo que un modelo no debe guardar referencias a ella después de deserializarse.
+ *       Respeta los escapes '\\' y '\<delimitador>' generados por Base#escapeForSerialization:
+ *       un delimitador escapado no separa campos y get() devuelve el valor sin escapes.
+ *
+ * @author KNOWLES
+ * @version 1.0
+ * @since 2026-10-18
+ * @see MappedRecordReader
+ */
+public final class RecordFields {
+    private final Charset charset;
+    private final byte delimiter;
+
+    private byte[] data;
+    private int start;
+    private int end;
+    private int count = -1;
+    private boolean escaped;
+    private int[] bounds = new int[16];
+
+    /**
+     * @param charset Codificación del archivo (compatible con ASCII).
+     * @param delimiter Separador de campos.
+     */
+    public RecordFields(Charset charset, char delimiter) {
+        this.charset = charset;
+        this.delimiter = (byte) delimiter;
+    }
+
+    /**
+     * Posiciona la vista sobre el registro [start, end) del bloque.
+     *
+     * @return Esta misma instancia.
+     */
+    public RecordFields at(byte[] data, int start, int end) {
+        this.data = data;
+        this.start = start;
+        this.end = end;
+        this.count = -1;
+        return this;
+    }
+
+    /** @return El primer carácter (ASCII) del registro, o 0 si está vacío. */
+    public char leading() {
+        return start < end ? (char) (data[start] & 0xff) : 0;
+    }
+
+    /**
+     * Descarta el primer byte del registro (por ejemplo, un prefijo de tipo de registro).
+     *
+     * @return Esta misma instancia.
+     */
+    public RecordFields skipLeading() {
+        return at(data, Math.min(start + 1, end), end);
+    }
+
+    /** @return Cantidad de campos del registro. */
+    public int count() {
+        index();
+        return count;
+    }
+
+    /** @return true si el registro solo contiene espacios en blanco. */
+    public boolean isBlank() {
+        for (int i = start; i < end; i++) {
+            if ((data[i] & 0xff) > ' ') return false;
+        }
+        return true;
+    }
+
+    /** @return La línea completa decodificada. */
+    public String line() {
+        return decode(start, end);
+    }
+
+    /** @return El campo indicado decodificado y sin escapes. */
+    public String get(int index) {
+        check(index);
+        String value = decode(fieldStart(index), fieldEnd(index));
+        return escaped ? unescape(value) : value;
+    }
+
+    /**
+     * Compara un campo con un texto ASCII sin decodificarlo.
+     *
+     * @return true si el campo es exactamente igual al texto.
+     */
+    public boolean matches(int index, String ascii) {
+        check(index);
+        int from = fieldStart(index);
+        if (fieldEnd(index) - from != ascii.length()) return false;
+        for (int i = 0; i < ascii.length(); i++) {
+            if (data[from + i] != (byte) ascii.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /** @return El campo interpretado como Boolean.parseBoolean. */
+    public boolean getBoolean(int index) {
+        check(index);
+        int from = fieldStart(index);
+        if (fieldEnd(index) - from != 4) return false;
+        String expected = "true";
+        for (int i = 0; i < 4; i++) {
+            if (Character.toLowerCase((char) data[from + i]) != expected.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Busca la constante cuyo nombre coincide con el campo.
+     *
+     * @param values Constantes del enumerado (se recomienda guardar el arreglo de values() en una constante).
+     * @throws IllegalArgumentException Si ninguna constante coincide, igual que Enum.valueOf.
+     */
+    public <E extends Enum<E>> E getEnum(int index, E[] values) {
+        for (E value : values) {
+            if (matches(index, value.name())) return value;
+        }
+        throw new IllegalArgumentException("Constante no reconocida: " + get(index));
+    }
+
+    /**
+     * Interpreta un campo con formato ISO (HH:mm[:ss[.nnnnnnnnn]]) sin decodificarlo.
+     * Los formatos no contemplados se delegan en LocalTime.parse.
+     */
+    public LocalTime getTime(int index) {
+        check(index);
+        LocalTime time = parseTime(fieldStart(index), fieldEnd(index));
+        return time != null ? time : LocalTime.parse(get(index));
+    }
+
+    /**
+     * Interpreta un campo con formato ISO (yyyy-MM-ddTHH:mm[:ss[.nnnnnnnnn]]) sin decodificarlo.
+     * Los formatos no contemplados se delegan en LocalDateTime.parse.
+     */
+    public LocalDateTime getDateTime(int index) {
+        check(index);
+        int from = fieldStart(index);
+        int to = fieldEnd(index);
+        if (to - from >= 16 && data[from + 4] == '-' && data[from + 7] == '-' && data[from + 10] == 'T') {
+            int year = digits(from, 4);
+            int month = digits(from + 5, 2);
+            int day = digits(from + 8, 2);
+            LocalTime time = parseTime(from + 11, to);
+            if (year >= 0 && month >= 0 && day >= 0 && time != null) {
+                return LocalDateTime.of(LocalDate.of(year, month, day), time);
+            }
+        }
+        return LocalDateTime.parse(get(index));
+    }
+
+    private LocalTime parseTime(int from, int to) {
+        int length = to - from;
+        if (length < 5 || data[from + 2] != ':') return null;
+        int hour = digits(from, 2);
+        int minute = digits(from + 3, 2);
+        if (hour < 0 || minute < 0) return null;
+        if (length == 5) return LocalTime.of(hour, minute);
+
+        if (length < 8 || data[from + 5] != ':') return null;
+        int second = digits(from + 6, 2);
+        if (second < 0) return null;
+        if (length == 8) return LocalTime.of(hour, minute, second);
+
+        int fraction = length - 9;
+        if (data[from + 8] != '.' || fraction < 1 || fraction > 9) return null;
+        int nanos = digits(from + 9, fraction);
+        if (nanos < 0) return null;
+        for (int i = fraction; i < 9; i++) nanos *= 10;
+        return LocalTime.of(hour, minute, second, nanos);
+    }
+
+    /** @return El valor de los dígitos indicados, o -1 si alguno no es un dígito. */
+    private int digits(int from, int length) {
+        int value = 0;
+        for (int i = from; i < from + length; i++) {
+            int digit = data[i] - '0';
+            if (digit < 0 || digit > 9) return -1;
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private void index() {
+        if (count >= 0) return;
+        int fields = 0;
+        escaped = false;
+        bounds[0] = start;
+        for (int i = start; i < end; i++) {
+            if (data[i] == '\\' && i + 1 < end && (data[i + 1] == delimiter || data[i + 1] == '\\')) {
+                escaped = true;
+                i++;
+            } else if (data[i] == delimiter) {
+                if (++fields + 1 >= bounds.length) bounds = Arrays.copyOf(bounds, bounds.length * 2);
+                bounds[fields] = i + 1;
+            }
+        }
+        bounds[fields + 1] = end + 1;
+        count = fields + 1;
+    }
+
+    private int fieldStart(int index) {
+        return bounds[index];
+    }
+
+    private int fieldEnd(int index) {
+        return bounds[index + 1] - 1;
+    }
+
+    private void check(int index) {
+        index();
+        if (index < 0 || index >= count) {
+            throw new IllegalArgumentException("Formato de línea inválido. Campo " + index + " inexistente, el registro tiene " + count);
+        }
+    }
+
+    private String unescape(String value) {
+        if (value.indexOf('\\') < 0) return value;
+        StringBuilder result = new StringBuilder(value.length());
+        char separator = (char) delimiter;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length() && (value.charAt(i + 1) == separator || value.charAt(i + 1) == '\\')) {
+                c = value.charAt(++i);
+            }
+            result.append(c);
+        }
+        return result.toString();
+    }
+
+    private String decode(int from, int to) {
+        return new String(data, from, to - from, charset);
+    }
+}
@@ -0,0 +1,152 @@
+package unicorn.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+
+/**
+ * Lector del formato binario de registros escrito por {@link RecordOutput}.
+ * Recorre un rango de un arreglo de bytes sin copiarlo; los campos deben leerse en el mismo
+ * orden en que fueron escritos.
+ *
+ * @description Funcionalidades principales:
+ *                   - Leer enteros varint, textos, identificadores, enumerados, fechas y horas.
+ *                   - Obtener sub-lectores para registros precedidos por su longitud.
+ *                   - Detectar registros truncados o mal formados.
+ *
+ * @throws IllegalArgumentException Si el contenido está truncado o no corresponde al formato,
+ *                                  igual que los métodos fromFile de los modelos.
+ *
+ * @author KNOWLES
+ * @version 1.0
+ * @since 2026-10-18
+ * @see RecordOutput
+ */
+public final class RecordInput {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final byte[] data;
+    private final int limit;
+    private int position;
+
+    public RecordInput(byte[] data, int offset, int length) {
+        this.data = data;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    /** @return true si quedan bytes por leer. */
+    public boolean hasRemaining() {
+        return position < limit;
+    }
+
+    /**
+     * Lee la longitud de un registro y devuelve un lector limitado a su contenido,
+     * avanzando este lector hasta el final del registro.
+     */
+    public RecordInput readFramed() {
+        long length = readVarLong();
+        if (length < 0 || length > limit - position) {
+            throw new IllegalArgumentException("Registro binario truncado");
+        }
+        RecordInput record = new RecordInput(data, position, (int) length);
+        position += (int) length;
+        return record;
+    }
+
+    public long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = next();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IllegalArgumentException("Entero de longitud variable mal formado");
+    }
+
+    public int readInt() {
+        return (int) unzigzag(readVarLong());
+    }
+
+    public boolean readBoolean() {
+        return next() != 0;
+    }
+
+    public char readChar() {
+        return (char) readVarLong();
+    }
+
+    public String readString() {
+        long length = readVarLong() - 1;
+        if (length < 0) return null;
+        if (length > limit - position) throw new IllegalArgumentException("Texto truncado en registro binario");
+        String value = new String(data, position, (int) length, StandardCharsets.UTF_8);
+        position += (int) length;
+        return value;
+    }
+
+    /**
+     * Lee un identificador escrito con {@link RecordOutput#writeId(String)}.
+     */
+    public String readId() {
+        long tag = readVarLong();
+        if (tag == 0) return null;
+        if (tag >= 2) {
+            long length = tag - 2;
+            if (length > limit - position) throw new IllegalArgumentException("Texto truncado en registro binario");
+            String value = new String(data, position, (int) length, StandardCharsets.UTF_8);
+            position += (int) length;
+            return value;
+        }
+        if (limit - position < 16) throw new IllegalArgumentException("Identificador truncado en registro binario");
+        char[] chars = new char[36];
+        int c = 0;
+        for (int i = 0; i < 16; i++) {
+            if (i == 4 || i == 6 || i == 8 || i == 10) chars[c++] = '-';
+            int b = data[position++] & 0xff;
+            chars[c++] = HEX[b >>> 4];
+            chars[c++] = HEX[b & 0x0f];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * @param values Constantes del enumerado (se recomienda guardar el arreglo de values() en una constante).
+     */
+    public <E extends Enum<E>> E readEnum(E[] values) {
+        long ordinal = readVarLong() - 1;
+        if (ordinal < 0) return null;
+        if (ordinal >= values.length) throw new IllegalArgumentException("Ordinal fuera de rango: " + ordinal);
+        return values[(int) ordinal];
+    }
+
+    public LocalDate readDate() {
+        long value = readVarLong();
+        return value == 0 ? null : LocalDate.ofEpochDay(unzigzag(value - 1));
+    }
+
+    public LocalTime readTime() {
+        long minuteOfDay = readVarLong() - 1;
+        if (minuteOfDay < 0) return null;
+        return LocalTime.ofNanoOfDay(minuteOfDay * 60_000_000_000L + readVarLong());
+    }
+
+    public LocalDateTime readDateTime() {
+        long value = readVarLong();
+        if (value == 0) return null;
+        long nanoOfMinute = readVarLong();
+        long epochSecond = unzigzag(value - 1) * 60 + nanoOfMinute / 1_000_000_000L;
+        return LocalDateTime.ofEpochSecond(epochSecond, (int) (nanoOfMinute % 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    private byte next() {
+        if (position >= limit) throw new IllegalArgumentException("Registro binario truncado");
+        return data[position++];
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,190 @@
+package unicorn.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Escritor del formato binario de registros.
+ * Acumula los campos de un registro en un arreglo de bytes reutilizable, usando enteros de
+ * longitud variable (varint) para que los valores pequeños ocupen un solo byte.
+ *
+ * @description Funcionalidades principales:
+ *                   - Escribir enteros como varint (con codificación zigzag para admitir negativos).
+ *                   - Escribir textos en UTF-8 precedidos por su longitud.
+ *                   - Escribir identificadores UUID en 16 bytes en lugar de 36 caracteres.
+ *                   - Escribir enumerados por su ordinal, fechas como día de época y horas como minuto.
+ *                   - Representar los valores nulos con un 0, sin bytes adicionales.
+ *                   - Volcar el registro a un flujo precedido por su longitud.
+ *
+ * @note Los enumerados se guardan por ordinal: reordenar sus constantes cambia el significado de los
+ *       archivos existentes y requiere incrementar {@code Base#schemaVersion()}.
+ *
+ * @author KNOWLES
+ * @version 1.0
+ * @since 2026-10-18
+ * @see RecordInput
+ */
+public final class RecordOutput {
+    private byte[] buffer = new byte[256];
+    private int size;
+
+    /** Descarta el contenido para reutilizar el escritor en el siguiente registro. */
+    public void reset() {
+        size = 0;
+    }
+
+    /** @return Cantidad de bytes escritos. */
+    public int size() {
+        return size;
+    }
+
+    public void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    public void writeInt(int value) {
+        writeVarLong(zigzag(value));
+    }
+
+    public void writeBoolean(boolean value) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) (value ? 1 : 0);
+    }
+
+    public void writeChar(char value) {
+        writeVarLong(value);
+    }
+
+    /** Escribe un texto en UTF-8 precedido por su longitud + 1 (0 representa null). */
+    public void writeString(String value) {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length + 1L);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    /**
+     * Escribe un identificador. Los UUID en forma canónica (minúsculas, 36 caracteres) se guardan
+     * como 16 bytes; cualquier otro valor se guarda como texto.
+     * Formato: 0 = null, 1 = UUID seguido de 16 bytes, n >= 2 = texto de n - 2 bytes.
+     */
+    public void writeId(String value) {
+        if (value == null) {
+            writeVarLong(0);
+        } else if (isCanonicalUuid(value)) {
+            writeVarLong(1);
+            ensureCapacity(16);
+            for (int i = 0; i < 36; i += 2) {
+                if (value.charAt(i) == '-') i++;
+                buffer[size++] = (byte) (hex(value.charAt(i)) << 4 | hex(value.charAt(i + 1)));
+            }
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length + 2L);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+    }
+
+    /** Escribe el ordinal + 1 del enumerado (0 representa null). */
+    public void writeEnum(Enum<?> value) {
+        writeVarLong(value == null ? 0 : value.ordinal() + 1L);
+    }
+
+    /** Escribe el día de época + 1 en zigzag (0 representa null). */
+    public void writeDate(LocalDate value) {
+        writeVarLong(value == null ? 0 : zigzag(value.toEpochDay()) + 1);
+    }
+
+    /** Escribe el minuto del día + 1 (0 representa null) seguido de los nanosegundos dentro del minuto. */
+    public void writeTime(LocalTime value) {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        writeVarLong(value.getHour() * 60L + value.getMinute() + 1);
+        writeVarLong(value.getSecond() * 1_000_000_000L + value.getNano());
+    }
+
+    /** Escribe el minuto de época + 1 en zigzag (0 representa null) seguido de los nanosegundos dentro del minuto. */
+    public void writeDateTime(LocalDateTime value) {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        long epochSecond = value.toEpochSecond(ZoneOffset.UTC);
+        writeVarLong(zigzag(Math.floorDiv(epochSecond, 60)) + 1);
+        writeVarLong(Math.floorMod(epochSecond, 60) * 1_000_000_000L + value.getNano());
+    }
+
+    /**
+     * Escribe en el flujo el contenido tal cual, sin longitud.
+     *
+     * @throws IOException Si ocurre un error al escribir.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, size);
+    }
+
+    /**
+     * Escribe en el flujo la longitud del registro (varint) seguida de su contenido.
+     *
+     * @throws IOException Si ocurre un error al escribir.
+     */
+    public void writeFramedTo(OutputStream out) throws IOException {
+        long length = size;
+        while ((length & ~0x7FL) != 0) {
+            out.write((int) ((length & 0x7F) | 0x80));
+            length >>>= 7;
+        }
+        out.write((int) length);
+        out.write(buffer, 0, size);
+    }
+
+    private static boolean isCanonicalUuid(String value) {
+        if (value.length() != 36) return false;
+        for (int i = 0; i < 36; i++) {
+            char c = value.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') return false;
+            } else if (hex(c) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** @return El valor del dígito hexadecimal en minúscula, o -1 si no lo es. */
+    private static int hex(char c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+        return -1;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package unicorn.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import unicorn.model.Room;
+
+/**
+ * Matriz de ocupación semanal de las aulas en bloques de 15 minutos.
+ * La jornada va de 06:45 a 21:45, de lunes a sábado (los mismos límites que valida PeriodController).
+ * Cada aula recibe un índice fijo; por cada bloque de la semana se guarda un BitSet con las aulas
+ * ocupadas, y por cada atributo (tipo, proyector, capacidad, mantenimiento) un BitSet con las aulas
+ * que lo cumplen. Una búsqueda combina esos conjuntos con operaciones de bits palabra a palabra,
+ * sin recorrer las aulas una por una.
+ *
+ * @description Funcionalidades principales:
+ *                   - Registrar aulas y actualizar sus atributos cuando cambian.
+ *                   - Marcar y liberar de forma incremental los bloques que ocupa un periodo.
+ *                   - Buscar aulas libres en un rango horario que además cumplan tipo, capacidad mínima y proyector.
+ *
+ * @note Un periodo ocupa todos los bloques que toca, aunque sea parcialmente. Cada bloque lleva un
+ *       contador por aula, así que liberar un periodo no libera un bloque que comparte con otro.
+ *
+ * @author KNOWLES
+ * @version 1.0
+ * @since 2026-10-18
+ * @see unicorn.controller.RoomController
+ */
+public final class RoomOccupancy {
+    public static final LocalTime DAY_START = LocalTime.of(6, 45);
+    public static final LocalTime DAY_END = LocalTime.of(21, 45);
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_DAY = (int) (ChronoUnit.MINUTES.between(DAY_START, DAY_END) / SLOT_MINUTES);
+    private static final int DAYS = 6; // Lunes a sábado
+
+    // Índice fijo de cada aula; no se reutiliza aunque el aula se elimine
+    private final Map<String, Integer> indexOf = new HashMap<>();
+    private final List<String> idOf = new ArrayList<>();
+    // busy[día * SLOTS_PER_DAY + bloque] = aulas con al menos un periodo en ese bloque
+    private final BitSet[] busy = new BitSet[DAYS * SLOTS_PER_DAY];
+    // Cantidad de periodos de cada aula en cada bloque (se crea al ocupar el aula por primera vez)
+    private final List<short[]> counts = new ArrayList<>();
+
+    private final BitSet registered = new BitSet();
+    private final BitSet maintenance = new BitSet();
+    private final BitSet projector = new BitSet();
+    private final Map<TipoRoom, BitSet> byType = new EnumMap<>(TipoRoom.class);
+    private final TreeMap<Integer, BitSet> byCapacity = new TreeMap<>();
+    private final Map<Integer, Integer> capacityOf = new HashMap<>();
+
+    public RoomOccupancy() {
+        for (int i = 0; i < busy.length; i++) busy[i] = new BitSet();
+        for (TipoRoom tipo : TipoRoom.values()) byType.put(tipo, new BitSet());
+    }
+
+    /**
+     * Registra un aula o actualiza sus atributos si ya estaba registrada.
+     * Un aula en mantenimiento ('M') no aparece en las búsquedas.
+     */
+    public void register(Room room) {
+        int index = indexFor(room.getId());
+        clearAttributes(index);
+        registered.set(index);
+        if (room.getDisponible() == 'M') maintenance.set(index);
+        if (room.isTieneProyector()) projector.set(index);
+        if (room.getTipo() != null) byType.get(room.getTipo()).set(index);
+        byCapacity.computeIfAbsent(room.getCapacidad(), c -> new BitSet()).set(index);
+        capacityOf.put(index, room.getCapacidad());
+    }
+
+    /**
+     * Quita un aula de las búsquedas. Sus bloques ocupados se conservan mientras existan periodos
+     * que la referencien.
+     */
+    public void unregister(String roomId) {
+        Integer index = indexOf.get(roomId);
+        if (index != null) clearAttributes(index);
+    }
+
+    /**
+     * Quita todas las aulas de las búsquedas (se usa antes de volver a registrarlas desde el archivo).
+     */
+    public void unregisterAll() {
+        for (int index = registered.nextSetBit(0); index >= 0; index = registered.nextSetBit(index + 1)) {
+            clearAttributes(index);
+        }
+    }
+
+    /**
+     * Marca como ocupados los bloques que toca el rango [start, end) del aula en ese día.
+     * Los días fuera de lunes a sábado y las horas fuera de la jornada se ignoran.
+     */
+    public void occupy(String roomId, DayOfWeek day, LocalTime start, LocalTime end) {
+        update(roomId, day, start, end, 1);
+    }
+
+    /**
+     * Libera los bloques marcados por {@link #occupy} con los mismos datos.
+     */
+    public void release(String roomId, DayOfWeek day, LocalTime start, LocalTime end) {
+        update(roomId, day, start, end, -1);
+    }
+
+    /**
+     * Busca las aulas libres en todo el rango [start, end) del día indicado.
+     *
+     * @param tipo Tipo de aula requerido, o null para cualquiera.
+     * @param minCapacity Capacidad mínima (0 para no filtrar).
+     * @param requireProjector true para exigir proyector.
+     * @return IDs de las aulas que cumplen todos los criterios.
+     */
+    public List<String> findFree(DayOfWeek day, LocalTime start, LocalTime end,
+                                 TipoRoom tipo, int minCapacity, boolean requireProjector) {
+        List<String> result = new ArrayList<>();
+        int dayIndex = dayIndex(day);
+        if (dayIndex < 0 || start == null || end == null || !start.isBefore(end)) return result;
+
+        BitSet candidates = (BitSet) registered.clone();
+        candidates.andNot(maintenance);
+        if (tipo != null) candidates.and(byType.get(tipo));
+        if (requireProjector) candidates.and(projector);
+        if (minCapacity > 0) {
+            BitSet bigEnough = new BitSet();
+            byCapacity.tailMap(minCapacity, true).values().forEach(bigEnough::or);
+            candidates.and(bigEnough);
+        }
+
+        int first = firstSlot(start);
+        int last = endSlot(end);
+        for (int slot = first; slot < last && !candidates.isEmpty(); slot++) {
+            candidates.andNot(busy[dayIndex * SLOTS_PER_DAY + slot]);
+        }
+
+        for (int index = candidates.nextSetBit(0); index >= 0; index = candidates.nextSetBit(index + 1)) {
+            result.add(idOf.get(index));
+        }
+        return result;
+    }
+
+    private void update(String roomId, DayOfWeek day, LocalTime start, LocalTime end, int delta) {
+        int dayIndex = dayIndex(day);
+        if (roomId == null || dayIndex < 0 || start == null || end == null) return;
+
+        int index = indexFor(roomId);
+        short[] roomCounts = counts.get(index);
+        if (roomCounts == null) {
+            if (delta < 0) return;
+            roomCounts = new short[DAYS * SLOTS_PER_DAY];
+            counts.set(index, roomCounts);
+        }
+
+        int base = dayIndex * SLOTS_PER_DAY;
+        for (int slot = firstSlot(start), last = endSlot(end); slot < last; slot++) {
+            int cell = base + slot;
+            int count = Math.max(0, roomCounts[cell] + delta);
+            roomCounts[cell] = (short) count;
+            busy[cell].set(index, count > 0);
+        }
+    }
+
+    private int indexFor(String roomId) {
+        Integer index = indexOf.get(roomId);
+        if (index == null) {
+            index = idOf.size();
+            indexOf.put(roomId, index);
+            idOf.add(roomId);
+            counts.add(null);
+        }
+        return index;
+    }
+
+    private void clearAttributes(int index) {
+        registered.clear(index);
+        maintenance.clear(index);
+        projector.clear(index);
+        byType.values().forEach(bits -> bits.clear(index));
+        Integer capacity = capacityOf.remove(index);
+        if (capacity != null) {
+            BitSet bits = byCapacity.get(capacity);
+            bits.clear(index);
+            if (bits.isEmpty()) byCapacity.remove(capacity);
+        }
+    }
+
+    // Bloque que contiene la hora (limitado a la jornada)
+    private static int firstSlot(LocalTime time) {
+        long minutes = ChronoUnit.MINUTES.between(DAY_START, time);
+        return (int) Math.max(0, Math.min(SLOTS_PER_DAY, Math.floorDiv(minutes, SLOT_MINUTES)));
+    }
+
+    // Primer bloque posterior al rango que termina en la hora indicada (limitado a la jornada)
+    private static int endSlot(LocalTime time) {
+        long nanos = ChronoUnit.NANOS.between(DAY_START, time);
+        long slotNanos = SLOT_MINUTES * 60_000_000_000L;
+        return (int) Math.max(0, Math.min(SLOTS_PER_DAY, Math.floorDiv(nanos + slotNanos - 1, slotNanos)));
+    }
+
+    private static int dayIndex(DayOfWeek day) {
+        return day == null || day == DayOfWeek.SUNDAY ? -1 : day.getValue() - 1;
+    }
+}
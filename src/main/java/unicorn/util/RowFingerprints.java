@@ -0,0 +1,144 @@
+package unicorn.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Huellas de las filas importadas desde una planilla.
+ * Por cada fila se guarda una clave (qué representa la fila), una huella de su contenido, el
+ * horario que generó y el archivo del que provino. Al volver a importar, comparar claves y huellas
+ * permite aplicar solo las filas nuevas, modificadas o eliminadas. Las claves son propias de cada
+ * archivo: dos planillas con una fila de la misma materia, grupo y tipo no comparten su huella.
+ *
+ * @description Funcionalidades principales:
+ *                   - Calcular el SHA-256 de un archivo completo y de un conjunto de valores.
+ *                   - Cargar y serializar las huellas en un archivo de texto.
+ *                   - Consultar, reemplazar y quitar huellas por origen y clave.
+ *
+ * Formato de cada línea del archivo:
+ * <pre>
+ *     clave|huella|idHorario|origen
+ * </pre>
+ *
+ * @note Las claves y huellas son hexadecimales y el ID de horario es un UUID, por lo que ninguno
+ *       contiene '|'; el origen es el último campo y se lee completo aunque lo contenga.
+ *
+ * @author KNOWLES
+ * @version 1.0
+ * @since 2026-10-18
+ * @see ExcelHorarioLoader
+ */
+public final class RowFingerprints {
+    private static final char SEPARATOR = '\u001F'; // Separador de valores al calcular una huella
+
+    /**
+     * Fila importada.
+     *
+     * @param key Clave de la fila dentro de la planilla.
+     * @param fingerprint Huella del contenido de la fila ("" si es desconocida).
+     * @param scheduleId ID del horario generado por la fila.
+     * @param source Ruta absoluta del archivo del que provino.
+     */
+    public record Entry(String key, String fingerprint, String scheduleId, String source) {}
+
+    // Huellas por archivo de origen y, dentro de cada uno, por clave
+    private final Map<String, Map<String, Entry>> entries = new LinkedHashMap<>();
+
+    /**
+     * Carga las huellas de un archivo; si no existe, el resultado está vacío.
+     */
+    public static RowFingerprints load(Path file) throws IOException {
+        RowFingerprints result = new RowFingerprints();
+        if (!Files.exists(file)) return result;
+        for (String line : Files.readAllLines(file, Charset.defaultCharset())) {
+            String[] parts = line.split("\\|", 4);
+            if (parts.length == 4) {
+                result.put(new Entry(parts[0], parts[1], parts[2], parts[3]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return SHA-256 del contenido del archivo, en hexadecimal.
+     */
+    public static String sha256(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * @return SHA-256 de los valores indicados, en hexadecimal. Los null cuentan como "".
+     */
+    public static String fingerprint(String... values) {
+        StringBuilder joined = new StringBuilder();
+        for (String value : values) {
+            if (value != null) joined.append(value);
+            joined.append(SEPARATOR);
+        }
+        return HexFormat.of().formatHex(newDigest().digest(joined.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public Entry get(String source, String key) {
+        Map<String, Entry> bySource = entries.get(source);
+        return bySource == null ? null : bySource.get(key);
+    }
+
+    public void put(Entry entry) {
+        entries.computeIfAbsent(entry.source(), s -> new LinkedHashMap<>()).put(entry.key(), entry);
+    }
+
+    public void remove(String source, String key) {
+        Map<String, Entry> bySource = entries.get(source);
+        if (bySource == null) return;
+        bySource.remove(key);
+        if (bySource.isEmpty()) entries.remove(source);
+    }
+
+    /**
+     * @return Copia de las filas que provienen del archivo indicado.
+     */
+    public List<Entry> fromSource(String source) {
+        Map<String, Entry> bySource = entries.get(source);
+        return bySource == null ? new ArrayList<>() : new ArrayList<>(bySource.values());
+    }
+
+    public List<String> toLines() {
+        List<String> lines = new ArrayList<>();
+        for (Map<String, Entry> bySource : entries.values()) {
+            for (Entry e : bySource.values()) {
+                lines.add(e.key() + "|" + e.fingerprint() + "|" + e.scheduleId() + "|" + e.source());
+            }
+        }
+        return lines;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e); // Obligatorio en toda JVM
+        }
+    }
+}
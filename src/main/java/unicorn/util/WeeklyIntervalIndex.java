@@ -0,0 +1,168 @@
+package unicorn.util;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Índice de intervalos semanales agrupados por una clave (por ejemplo, una sala) y un día.
+ * Cada grupo mantiene sus elementos ordenados por hora de inicio, de modo que las consultas de
+ * traslape solo recorren los elementos que pueden cruzarse con el rango pedido.
+ * Los intervalos son semiabiertos [inicio, fin): dos periodos consecutivos (uno termina a la hora
+ * en que empieza el otro) no se traslapan.
+ *
+ * @description Funcionalidades principales:
+ *                   - Agregar y quitar elementos en O(log n) dentro de su grupo (clave, día).
+ *                   - Encontrar los elementos que se traslapan con un rango horario sin recorrer todo el grupo.
+ *                   - Listar los elementos de un grupo ordenados por hora de inicio.
+ *
+ * @note La búsqueda de traslapes empieza en (inicio - duración máxima del grupo), por lo que admite
+ *       grupos que ya contienen traslapes (por ejemplo, datos antiguos cargados desde archivo).
+ *
+ * @param <K> Tipo de la clave de agrupación.
+ * @param <V> Tipo de los elementos indexados.
+ *
+ * @author KNOWLES
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class WeeklyIntervalIndex<K, V> {
+    private final Function<V, K> keyOf;
+    private final Function<V, DayOfWeek> dayOf;
+    private final Function<V, LocalTime> startOf;
+    private final Function<V, LocalTime> endOf;
+    private final Map<K, Map<DayOfWeek, Bucket<V>>> buckets = new HashMap<>();
+
+    /**
+     * @param keyOf Obtiene la clave de agrupación de un elemento.
+     * @param dayOf Obtiene el día del elemento.
+     * @param startOf Obtiene la hora de inicio (inclusiva).
+     * @param endOf Obtiene la hora de fin (exclusiva).
+     */
+    public WeeklyIntervalIndex(Function<V, K> keyOf, Function<V, DayOfWeek> dayOf,
+                               Function<V, LocalTime> startOf, Function<V, LocalTime> endOf) {
+        this.keyOf = keyOf;
+        this.dayOf = dayOf;
+        this.startOf = startOf;
+        this.endOf = endOf;
+    }
+
+    /**
+     * Agrega un elemento al índice. Los elementos sin clave, día u horas se ignoran.
+     */
+    public void add(V value) {
+        K key = keyOf.apply(value);
+        DayOfWeek day = dayOf.apply(value);
+        LocalTime start = startOf.apply(value);
+        LocalTime end = endOf.apply(value);
+        if (key == null || day == null || start == null || end == null) return;
+
+        Bucket<V> bucket = buckets
+                .computeIfAbsent(key, k -> new EnumMap<>(DayOfWeek.class))
+                .computeIfAbsent(day, d -> new Bucket<>());
+        bucket.byStart.computeIfAbsent(start, s -> new ArrayList<>(1)).add(value);
+        bucket.maxDuration = max(bucket.maxDuration, Duration.between(start, end));
+    }
+
+    /**
+     * Quita un elemento usando la clave, el día y la hora de inicio con que fue agregado.
+     *
+     * @return true si el elemento estaba en el índice.
+     */
+    public boolean remove(V value) {
+        Bucket<V> bucket = bucket(keyOf.apply(value), dayOf.apply(value));
+        LocalTime start = startOf.apply(value);
+        if (bucket == null || start == null) return false;
+
+        List<V> sameStart = bucket.byStart.get(start);
+        if (sameStart == null || !sameStart.remove(value)) return false;
+        if (sameStart.isEmpty()) bucket.byStart.remove(start);
+        return true;
+    }
+
+    public void clear() {
+        buckets.clear();
+    }
+
+    /**
+     * Obtiene los elementos de un grupo cuyo intervalo se cruza con [from, to).
+     *
+     * @return Elementos ordenados por hora de inicio (lista vacía si no hay).
+     */
+    public List<V> overlapping(K key, DayOfWeek day, LocalTime from, LocalTime to) {
+        List<V> result = new ArrayList<>();
+        Bucket<V> bucket = bucket(key, day);
+        if (bucket == null) return result;
+
+        for (List<V> sameStart : candidates(bucket, from, to).values()) {
+            for (V value : sameStart) {
+                if (endOf.apply(value).isAfter(from)) result.add(value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Obtiene el primer elemento de un grupo que se cruza con [from, to), distinto de {@code ignored}.
+     *
+     * @param ignored Elemento que no cuenta como traslape (por ejemplo, el que se está editando); puede ser null.
+     * @return El elemento en conflicto o null si el rango está libre.
+     */
+    public V firstOverlap(K key, DayOfWeek day, LocalTime from, LocalTime to, V ignored) {
+        Bucket<V> bucket = bucket(key, day);
+        if (bucket == null) return null;
+
+        for (List<V> sameStart : candidates(bucket, from, to).values()) {
+            for (V value : sameStart) {
+                if (value != ignored && !value.equals(ignored) && endOf.apply(value).isAfter(from)) return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Obtiene todos los elementos de un grupo ordenados por hora de inicio.
+     */
+    public List<V> get(K key, DayOfWeek day) {
+        Bucket<V> bucket = bucket(key, day);
+        if (bucket == null) return Collections.emptyList();
+        List<V> result = new ArrayList<>();
+        bucket.byStart.values().forEach(result::addAll);
+        return result;
+    }
+
+    // Solo pueden cruzarse con [from, to) los elementos que empiezan antes de "to" y no antes de
+    // (from - duración máxima del grupo)
+    private NavigableMap<LocalTime, List<V>> candidates(Bucket<V> bucket, LocalTime from, LocalTime to) {
+        LocalTime earliest = Duration.between(LocalTime.MIN, from).compareTo(bucket.maxDuration) <= 0
+                ? LocalTime.MIN
+                : from.minus(bucket.maxDuration);
+        if (!to.isAfter(earliest)) return Collections.emptyNavigableMap();
+        return bucket.byStart.subMap(earliest, true, to, false);
+    }
+
+    private Bucket<V> bucket(K key, DayOfWeek day) {
+        if (key == null || day == null) return null;
+        Map<DayOfWeek, Bucket<V>> days = buckets.get(key);
+        return days == null ? null : days.get(day);
+    }
+
+    private static Duration max(Duration a, Duration b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    private static final class Bucket<V> {
+        private final TreeMap<LocalTime, List<V>> byStart = new TreeMap<>();
+        // Duración del intervalo más largo agregado; no disminuye al quitar elementos
+        private Duration maxDuration = Duration.ZERO;
+    }
+}
@@ -0,0 +1,237 @@
+package unicorn.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Lector por eventos de la primera hoja de un archivo .xlsx.
+ * En lugar de construir el libro completo en memoria (XSSFWorkbook), recorre el XML de la hoja con
+ * SAX y entrega cada fila como un arreglo de textos en cuanto termina de leerla. Solo se mantienen
+ * en memoria la tabla de textos compartidos, los estilos y la fila en curso, por lo que el consumo
+ * no depende de la cantidad de filas de la hoja.
+ *
+ * @description Funcionalidades principales:
+ *                   - Abrir el paquete en modo solo lectura y ubicar la primera hoja del libro.
+ *                   - Resolver textos compartidos, textos en línea y números con formato de fecha u hora.
+ *                   - Entregar las filas en orden, con su número (base 0) y sus celdas por columna.
+ *
+ * @note Los valores se convierten igual que con el modelo completo de POI en la carga de horarios:
+ *       los textos se recortan, las horas con formato se entregan como "HH:mm", los números con
+ *       decimales como horas ("8.25" -> "08:15") y las fórmulas, booleanos y errores como "".
+ *
+ * Ejemplo de uso:
+ * <pre>
+ *     XlsxStreamReader.readFirstSheet(ruta, (numero, celdas) -> procesar(numero, celdas));
+ * </pre>
+ *
+ * @author KNOWLES
+ * @version 1.0
+ * @since 2026-10-18
+ * @see ExcelHorarioLoader
+ */
+public final class XlsxStreamReader {
+
+    /**
+     * Recibe cada fila leída de la hoja.
+     */
+    @FunctionalInterface
+    public interface RowHandler {
+        /**
+         * @param rowNum Número de la fila, con base 0 (la fila 1 de Excel es la 0).
+         * @param cells Valor de cada celda por índice de columna; las celdas ausentes son "".
+         */
+        void onRow(int rowNum, String[] cells);
+    }
+
+    private XlsxStreamReader() {}
+
+    /**
+     * Lee la primera hoja del archivo y entrega sus filas al manejador.
+     * Las excepciones no comprobadas que lance el manejador detienen la lectura y se propagan.
+     *
+     * @param path Ruta del archivo .xlsx.
+     * @param handler Receptor de las filas.
+     * @throws IOException Si el archivo no existe, no es un .xlsx válido o no contiene hojas.
+     */
+    public static void readFirstSheet(String path, RowHandler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(new File(path), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new IOException("El archivo Excel no contiene hojas");
+            }
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = newParser();
+                parser.setContentHandler(new SheetHandler(strings, styles, handler));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("No se pudo leer el archivo Excel " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Convierte un valor numérico de celda al texto que espera la carga de horarios.
+     *
+     * @param value Valor numérico de la celda.
+     * @param dateFormatted true si el estilo de la celda es un formato de fecha u hora.
+     */
+    static String numericText(double value, boolean dateFormatted) {
+        if (dateFormatted) {
+            return DateUtil.getLocalDateTime(value).toLocalTime().toString();
+        }
+        // Para horas como 8.25 (8:15)
+        if (value % 1 != 0) {
+            int horas = (int) value;
+            int minutos = (int) ((value - horas) * 60);
+            return String.format("%02d:%02d", horas, minutos);
+        }
+        return String.valueOf((int) value);
+    }
+
+    private static XMLReader newParser() throws ParserConfigurationException, SAXException {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        return factory.newSAXParser().getXMLReader();
+    }
+
+    // Índice de columna (base 0) a partir de una referencia como "B12"
+    private static int columnOf(String reference) {
+        int column = 0;
+        for (int i = 0; i < reference.length(); i++) {
+            char c = reference.charAt(i);
+            if (c < 'A' || c > 'Z') break;
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    /**
+     * Manejador SAX de sheetN.xml: acumula las celdas de la fila en curso y la entrega al cerrarse
+     * el elemento &lt;row&gt;.
+     */
+    private static final class SheetHandler extends DefaultHandler {
+        private static final String[] EMPTY_ROW = new String[0];
+
+        private final ReadOnlySharedStringsTable strings;
+        private final StylesTable styles;
+        private final RowHandler handler;
+        private final StringBuilder text = new StringBuilder();
+
+        private String[] cells = new String[32];
+        private int width;
+        private int rowNum = -1;
+
+        private int column;
+        private String type;
+        private int style;
+        private boolean formula;
+        private boolean collecting;
+
+        SheetHandler(ReadOnlySharedStringsTable strings, StylesTable styles, RowHandler handler) {
+            this.strings = strings;
+            this.styles = styles;
+            this.handler = handler;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row" -> {
+                    String r = attributes.getValue("r");
+                    rowNum = r != null ? Integer.parseInt(r) - 1 : rowNum + 1;
+                    width = 0;
+                    column = -1;
+                }
+                case "c" -> {
+                    String r = attributes.getValue("r");
+                    column = r != null ? columnOf(r) : column + 1;
+                    type = attributes.getValue("t");
+                    String s = attributes.getValue("s");
+                    style = s != null ? Integer.parseInt(s) : 0;
+                    formula = false;
+                    text.setLength(0);
+                }
+                case "f" -> formula = true;
+                case "v", "t" -> collecting = true;
+                default -> { }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (collecting) text.append(ch, start, length);
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v", "t" -> collecting = false;
+                case "c" -> put(column, formula ? "" : value());
+                case "row" -> {
+                    String[] row = width == 0 ? EMPTY_ROW : Arrays.copyOf(cells, width);
+                    for (int i = 0; i < row.length; i++) {
+                        if (row[i] == null) row[i] = "";
+                    }
+                    Arrays.fill(cells, 0, width, null);
+                    handler.onRow(rowNum, row);
+                }
+                default -> { }
+            }
+        }
+
+        private String value() {
+            if (text.length() == 0) return "";
+            String raw = text.toString();
+            if (type == null || type.equals("n")) {
+                double number = Double.parseDouble(raw);
+                return numericText(number, isDateFormatted(number));
+            }
+            return switch (type) {
+                case "s" -> strings.getItemAt(Integer.parseInt(raw)).getString().trim();
+                case "inlineStr" -> raw.trim();
+                default -> ""; // Booleanos, errores y fórmulas de texto
+            };
+        }
+
+        private boolean isDateFormatted(double number) {
+            if (styles == null || style >= styles.getNumCellStyles()) return false;
+            XSSFCellStyle cellStyle = styles.getStyleAt(style);
+            return cellStyle != null
+                    && DateUtil.isADateFormat(cellStyle.getDataFormat(), cellStyle.getDataFormatString())
+                    && DateUtil.isValidExcelDate(number);
+        }
+
+        private void put(int index, String value) {
+            if (index < 0 || value.isEmpty()) return;
+            if (index >= cells.length) cells = Arrays.copyOf(cells, Math.max(index + 1, cells.length * 2));
+            cells[index] = value;
+            width = Math.max(width, index + 1);
+        }
+    }
+}